@@ -22,6 +22,7 @@ import io.netty.channel.ChannelHandlerContext;
 import org.traccar.config.Keys;
 import org.traccar.database.CommandsManager;
 import org.traccar.database.MediaManager;
+import org.traccar.database.MetricsRegistry;
 import org.traccar.database.StatisticsManager;
 import org.traccar.helper.UnitsConverter;
 import org.traccar.helper.model.AttributeUtil;
@@ -53,6 +54,10 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
     private MediaManager mediaManager;
     private CommandsManager commandsManager;
 
+    private MetricsRegistry.Counter decodedCounter;
+    private MetricsRegistry.Counter errorCounter;
+    private MetricsRegistry.Histogram decodeHistogram;
+
     private String modelOverride;
 
     private ByteBuf mediaBuffer;
@@ -90,6 +95,17 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
         this.commandsManager = commandsManager;
     }
 
+    @Inject
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        String protocolName = getProtocolName();
+        decodedCounter = metricsRegistry.counter(
+                "traccar_decoder_messages_total", "Messages decoded", "protocol", protocolName);
+        errorCounter = metricsRegistry.counter(
+                "traccar_decoder_errors_total", "Messages that failed to decode", "protocol", protocolName);
+        decodeHistogram = metricsRegistry.histogram(
+                "traccar_decoder_duration_seconds", "Message decoding time", "protocol", protocolName);
+    }
+
     public CommandsManager getCommandsManager() {
         return commandsManager;
     }
@@ -194,6 +210,18 @@ public abstract class BaseProtocolDecoder extends ExtendedObjectDecoder {
         }
     }
 
+    @Override
+    protected void onDecodeComplete(long duration, boolean success) {
+        if (decodeHistogram != null) {
+            decodeHistogram.observe(duration);
+            if (success) {
+                decodedCounter.increment();
+            } else {
+                errorCounter.increment();
+            }
+        }
+    }
+
     @Override
     protected void onMessageEvent(
             Channel channel, SocketAddress remoteAddress, Object originalMessage, Object decodedMessage) {
@@ -18,10 +18,13 @@ package org.traccar;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.MultiThreadIoEventLoopGroup;
 import io.netty.channel.nio.NioIoHandler;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.MetricsRegistry;
 
 @Singleton
 public class EventLoopGroupFactory {
@@ -30,12 +33,27 @@ public class EventLoopGroupFactory {
     private final EventLoopGroup workerGroup;
 
     @Inject
-    public EventLoopGroupFactory(Config config) {
+    public EventLoopGroupFactory(Config config, MetricsRegistry metricsRegistry) {
         var ioHandlerFactory = NioIoHandler.newFactory();
         bossGroup = new MultiThreadIoEventLoopGroup(
                 config.getInteger(Keys.SERVER_NETTY_BOSS_THREADS), ioHandlerFactory);
         workerGroup = new MultiThreadIoEventLoopGroup(
                 config.getInteger(Keys.SERVER_NETTY_WORKER_THREADS), ioHandlerFactory);
+
+        metricsRegistry.gauge("traccar_netty_pending_tasks", "Tasks waiting in Netty event loops",
+                () -> getPendingTasks(bossGroup), "group", "boss");
+        metricsRegistry.gauge("traccar_netty_pending_tasks", "Tasks waiting in Netty event loops",
+                () -> getPendingTasks(workerGroup), "group", "worker");
+    }
+
+    private static int getPendingTasks(EventLoopGroup group) {
+        int pendingTasks = 0;
+        for (EventExecutor executor : group) {
+            if (executor instanceof SingleThreadEventExecutor singleThreadExecutor) {
+                pendingTasks += singleThreadExecutor.pendingTasks();
+            }
+        }
+        return pendingTasks;
     }
 
     public EventLoopGroup getBossGroup() {
@@ -69,7 +69,15 @@ public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter
         Object originalMessage = networkMessage.getMessage();
         ctx.writeAndFlush(new AcknowledgementHandler.EventReceived());
         try {
-            Object decodedMessage = decode(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage);
+            long startTime = System.nanoTime();
+            Object decodedMessage;
+            try {
+                decodedMessage = decode(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage);
+            } catch (Exception e) {
+                onDecodeComplete(System.nanoTime() - startTime, false);
+                throw e;
+            }
+            onDecodeComplete(System.nanoTime() - startTime, true);
             onMessageEvent(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage, decodedMessage);
             if (decodedMessage == null) {
                 decodedMessage = handleEmptyMessage(ctx.channel(), networkMessage.getRemoteAddress(), originalMessage);
@@ -97,6 +105,8 @@ public abstract class ExtendedObjectDecoder extends ChannelInboundHandlerAdapter
     protected void onMessageEvent(
             Channel channel, SocketAddress remoteAddress, Object originalMessage, Object decodedMessage) {}
 
+    protected void onDecodeComplete(long duration, boolean success) {}
+
     protected Object handleEmptyMessage(Channel channel, SocketAddress remoteAddress, Object msg) {
         return null;
     }
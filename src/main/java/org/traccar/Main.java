@@ -21,6 +21,7 @@ import com.google.inject.ProvisionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.broadcast.BroadcastService;
+import org.traccar.database.DeviceStateWriter;
 import org.traccar.schedule.ScheduleManager;
 import org.traccar.storage.DatabaseModule;
 import org.traccar.web.WebModule;
@@ -120,7 +121,8 @@ public final class Main {
 
             var services = new ArrayList<LifecycleObject>();
             for (var clazz : List.of(
-                    ScheduleManager.class, ServerManager.class, WebServer.class, BroadcastService.class)) {
+                    DeviceStateWriter.class, ScheduleManager.class, ServerManager.class, WebServer.class,
+                    BroadcastService.class)) {
                 var service = injector.getInstance(clazz);
                 if (service != null) {
                     service.start();
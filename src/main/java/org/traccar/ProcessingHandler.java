@@ -19,11 +19,14 @@ import com.google.inject.Injector;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramChannel;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.traccar.config.Config;
 import org.traccar.database.BufferingManager;
+import org.traccar.database.MetricsRegistry;
 import org.traccar.database.NotificationManager;
+import org.traccar.database.PositionBatchWriter;
 import org.traccar.handler.BasePositionHandler;
 import org.traccar.handler.ComputedAttributesHandler;
 import org.traccar.handler.CopyAttributesHandler;
@@ -58,15 +61,20 @@ import org.traccar.handler.events.OverspeedEventHandler;
 import org.traccar.handler.events.ProximityEventHandler;
 import org.traccar.handler.network.AcknowledgementHandler;
 import org.traccar.helper.PositionLogger;
+import org.traccar.helper.WindowedMaximum;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 
 @Singleton
@@ -77,25 +85,36 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
     private final NotificationManager notificationManager;
     private final PositionLogger positionLogger;
     private final BufferingManager bufferingManager;
+    private final PositionBatchWriter batchWriter;
     private final List<BasePositionHandler> positionHandlers;
     private final List<BaseEventHandler> eventHandlers;
+    private final List<MetricsRegistry.Histogram> positionHandlerMetrics;
+    private final List<MetricsRegistry.Histogram> eventHandlerMetrics;
     private final PostProcessHandler postProcessHandler;
 
-    private record QueuedPosition(ChannelHandlerContext ctx, Position position) {}
+    private record QueuedPosition(ChannelHandlerContext ctx, Position position, long queuedTime) {}
 
-    private final Map<Long, Queue<QueuedPosition>> queues = new HashMap<>();
+    /**
+     * Per-device serial queues. The head of a queue is the position currently being processed. All queue
+     * mutations happen inside atomic map operations and empty queues are removed, so only devices with
+     * positions in flight have an entry.
+     */
+    private final Map<Long, Queue<QueuedPosition>> queues = new ConcurrentHashMap<>();
 
-    private synchronized Queue<QueuedPosition> getQueue(long deviceId) {
-        return queues.computeIfAbsent(deviceId, k -> new LinkedList<>());
-    }
+    private final LongAdder queuedPositions = new LongAdder();
+    private final LongAdder processedPositions = new LongAdder();
+    private final LongAdder totalWaitTime = new LongAdder();
+    private final WindowedMaximum maxWaitTime = new WindowedMaximum(TimeUnit.MINUTES.toNanos(1));
 
     @Inject
     public ProcessingHandler(
             Injector injector, Config config,
-            CacheManager cacheManager, NotificationManager notificationManager, PositionLogger positionLogger) {
+            CacheManager cacheManager, NotificationManager notificationManager, PositionLogger positionLogger,
+            PositionBatchWriter batchWriter, MetricsRegistry metricsRegistry) {
         this.cacheManager = cacheManager;
         this.notificationManager = notificationManager;
         this.positionLogger = positionLogger;
+        this.batchWriter = batchWriter;
         bufferingManager = new BufferingManager(config, this);
 
         positionHandlers = Stream.of(
@@ -139,6 +158,28 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
                 .toList();
 
         postProcessHandler = injector.getInstance(PostProcessHandler.class);
+
+        positionHandlerMetrics = positionHandlers.stream()
+                .map(handler -> getHandlerMetric(metricsRegistry, handler))
+                .toList();
+        eventHandlerMetrics = eventHandlers.stream()
+                .map(handler -> getHandlerMetric(metricsRegistry, handler))
+                .toList();
+
+        metricsRegistry.gauge("traccar_processing_queued_positions", "Positions waiting for processing",
+                this::getQueuedPositions);
+        metricsRegistry.gauge("traccar_processing_queued_devices", "Devices with positions in processing",
+                this::getQueuedDevices);
+        metricsRegistry.gauge("traccar_buffering_devices", "Devices with positions held for reordering",
+                bufferingManager::getBufferedDevices);
+        metricsRegistry.gauge("traccar_position_writer_queue", "Positions waiting for batch insert",
+                batchWriter::getQueueSize);
+    }
+
+    private static MetricsRegistry.Histogram getHandlerMetric(MetricsRegistry metricsRegistry, Object handler) {
+        return metricsRegistry.histogram(
+                "traccar_handler_duration_seconds", "Position and event handler processing time",
+                "handler", handler.getClass().getSimpleName());
     }
 
     @Override
@@ -146,6 +187,12 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
         if (msg instanceof Position position) {
             cacheManager.addDevice(position.getDeviceId(), position);
             bufferingManager.accept(ctx, position);
+            // a datagram channel is shared by all devices on the port, so only connections are paused
+            if (batchWriter.isOverloaded() && !(ctx.channel() instanceof DatagramChannel)
+                    && ctx.channel().config().isAutoRead()) {
+                ctx.channel().config().setAutoRead(false);
+                batchWriter.whenResumed(() -> ctx.channel().config().setAutoRead(true));
+            }
         } else {
             super.channelRead(ctx, msg);
         }
@@ -153,26 +200,84 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
 
     @Override
     public void onReleased(ChannelHandlerContext context, Position position) {
-        Queue<QueuedPosition> queue = getQueue(position.getDeviceId());
-        boolean queued;
-        synchronized (queue) {
-            queued = !queue.isEmpty();
-            queue.offer(new QueuedPosition(context, position));
-        }
-        if (!queued) {
-            processPositionHandlers(context, position);
+        QueuedPosition queuedPosition = new QueuedPosition(context, position, System.nanoTime());
+        boolean[] idle = new boolean[1];
+        queues.compute(position.getDeviceId(), (deviceId, queue) -> {
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                idle[0] = true;
+            }
+            queue.offer(queuedPosition);
+            return queue;
+        });
+        queuedPositions.increment();
+        if (idle[0]) {
+            startProcessing(queuedPosition);
         }
     }
 
+    private void startProcessing(QueuedPosition queuedPosition) {
+        long waitTime = System.nanoTime() - queuedPosition.queuedTime();
+        queuedPositions.decrement();
+        processedPositions.increment();
+        totalWaitTime.add(waitTime);
+        maxWaitTime.record(waitTime);
+        processPositionHandlers(queuedPosition.ctx(), queuedPosition.position());
+    }
+
+    public long getQueuedPositions() {
+        return queuedPositions.sum();
+    }
+
+    public int getQueuedDevices() {
+        return queues.size();
+    }
+
+    public long getAverageWaitTime() {
+        long count = processedPositions.sum();
+        return count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitTime.sum() / count) : 0;
+    }
+
+    /**
+     * Maximum queue wait in milliseconds during the last one to two minutes.
+     */
+    public long getMaxWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitTime.get());
+    }
+
+    public Map<Long, Integer> getQueueDepths(int limit) {
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        queues.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), getQueueSize(entry.getKey())))
+                .filter(entry -> entry.getValue() > 1)
+                .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEachOrdered(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    private int getQueueSize(long deviceId) {
+        int[] size = new int[1];
+        queues.computeIfPresent(deviceId, (key, queue) -> {
+            size[0] = queue.size();
+            return queue;
+        });
+        return size[0];
+    }
+
     private void processPositionHandlers(ChannelHandlerContext ctx, Position position) {
-        var iterator = positionHandlers.iterator();
-        iterator.next().handlePosition(position, new BasePositionHandler.Callback() {
+        BasePositionHandler.Callback callback = new BasePositionHandler.Callback() {
+            private int index;
+            private long startTime = System.nanoTime();
+
             @Override
             public void processed(boolean filtered) {
+                positionHandlerMetrics.get(index).observe(System.nanoTime() - startTime);
                 Runnable continuation = () -> {
                     if (!filtered) {
-                        if (iterator.hasNext()) {
-                            iterator.next().handlePosition(position, this);
+                        if (++index < positionHandlers.size()) {
+                            startTime = System.nanoTime();
+                            positionHandlers.get(index).handlePosition(position, this);
                         } else {
                             processEventHandlers(ctx, position);
                         }
@@ -186,12 +291,17 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
                     ctx.executor().execute(continuation);
                 }
             }
-        });
+        };
+        positionHandlers.get(0).handlePosition(position, callback);
     }
 
     private void processEventHandlers(ChannelHandlerContext ctx, Position position) {
-        eventHandlers.forEach(handler -> handler.analyzePosition(
-                position, (event) -> notificationManager.updateEvents(Map.of(event, position))));
+        for (int i = 0; i < eventHandlers.size(); i++) {
+            long startTime = System.nanoTime();
+            eventHandlers.get(i).analyzePosition(
+                    position, (event) -> notificationManager.updateEvents(Map.of(event, position)));
+            eventHandlerMetrics.get(i).observe(System.nanoTime() - startTime);
+        }
         finishedProcessing(ctx, position, false);
     }
 
@@ -210,14 +320,14 @@ public class ProcessingHandler extends ChannelInboundHandlerAdapter implements B
     }
 
     private void processNextPosition(long deviceId) {
-        Queue<QueuedPosition> queue = getQueue(deviceId);
-        QueuedPosition next;
-        synchronized (queue) {
+        QueuedPosition[] next = new QueuedPosition[1];
+        queues.computeIfPresent(deviceId, (key, queue) -> {
             queue.poll(); // remove current position
-            next = queue.peek();
-        }
-        if (next != null) {
-            next.ctx().executor().execute(() -> processPositionHandlers(next.ctx(), next.position()));
+            next[0] = queue.peek();
+            return next[0] != null ? queue : null;
+        });
+        if (next[0] != null) {
+            next[0].ctx().executor().execute(() -> startProcessing(next[0]));
         }
     }
 
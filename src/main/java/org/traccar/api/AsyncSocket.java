@@ -18,24 +18,33 @@ package org.traccar.api;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.util.Timer;
 import org.eclipse.jetty.websocket.api.Callback;
 import org.eclipse.jetty.websocket.api.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
 import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
 import org.traccar.model.LogRecord;
 import org.traccar.model.Position;
 import org.traccar.session.ConnectionManager;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 
 import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionManager.UpdateListener {
 
@@ -48,17 +57,36 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
 
     private final ObjectMapper objectMapper;
     private final ConnectionManager connectionManager;
+    private final CacheManager cacheManager;
     private final Storage storage;
+    private final Timer timer;
+    private final Map<Object, String> jsonCache;
     private final long userId;
+    private final long flushInterval;
+    private final int bufferSize;
 
-    private boolean includeLogs;
-    private Session session;
+    private final Map<Long, Device> pendingDevices = new LinkedHashMap<>();
+    private final Map<Long, Position> pendingPositions = new LinkedHashMap<>();
+    private final Deque<Event> pendingEvents = new ArrayDeque<>();
+    private final Deque<LogRecord> pendingLogs = new ArrayDeque<>();
+    private boolean flushScheduled;
+    private boolean sending;
 
-    public AsyncSocket(ObjectMapper objectMapper, ConnectionManager connectionManager, Storage storage, long userId) {
+    private volatile boolean includeLogs;
+    private volatile Session session;
+
+    public AsyncSocket(
+            ObjectMapper objectMapper, ConnectionManager connectionManager, CacheManager cacheManager,
+            Storage storage, Config config, Timer timer, Map<Object, String> jsonCache, long userId) {
         this.objectMapper = objectMapper;
         this.connectionManager = connectionManager;
+        this.cacheManager = cacheManager;
         this.storage = storage;
+        this.timer = timer;
+        this.jsonCache = jsonCache;
         this.userId = userId;
+        flushInterval = config.getLong(Keys.WEB_SOCKET_FLUSH_INTERVAL);
+        bufferSize = config.getInteger(Keys.WEB_SOCKET_BUFFER_SIZE);
     }
 
     @Override
@@ -66,7 +94,7 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
         this.session = session;
         try {
             Map<String, Collection<?>> data = new HashMap<>();
-            data.put(KEY_POSITIONS, PositionUtil.getLatestPositions(storage, userId));
+            data.put(KEY_POSITIONS, PositionUtil.getLatestPositions(storage, cacheManager, userId));
             sendData(data);
             connectionManager.addListener(userId, this);
         } catch (StorageException e) {
@@ -78,6 +106,12 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
     public void onWebSocketClose(int statusCode, String reason, Callback callback) {
         connectionManager.removeListener(userId, this);
         session = null;
+        synchronized (this) {
+            pendingDevices.clear();
+            pendingPositions.clear();
+            pendingEvents.clear();
+            pendingLogs.clear();
+        }
         callback.succeed();
     }
 
@@ -87,6 +121,7 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
             JsonNode json = objectMapper.readTree(message);
             if (json.hasNonNull("logs")) {
                 includeLogs = json.get("logs").asBoolean();
+                connectionManager.updateLogListener(this, includeLogs);
             }
         } catch (JsonProcessingException e) {
             LOGGER.warn("Socket JSON parsing error", e);
@@ -107,27 +142,161 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
 
     @Override
     public void onUpdateDevice(Device device) {
-        sendData(Map.of(KEY_DEVICES, List.of(device)));
+        synchronized (this) {
+            pendingDevices.put(device.getId(), device);
+        }
+        scheduleFlush();
     }
 
     @Override
     public void onUpdatePosition(Position position) {
-        sendData(Map.of(KEY_POSITIONS, List.of(position)));
+        synchronized (this) {
+            pendingPositions.merge(position.getDeviceId(), position,
+                    (previous, current) -> current.getFixTime().before(previous.getFixTime()) ? previous : current);
+        }
+        scheduleFlush();
     }
 
     @Override
     public void onUpdateEvent(Event event) {
-        sendData(Map.of(KEY_EVENTS, List.of(event)));
+        synchronized (this) {
+            addLimited(pendingEvents, event);
+        }
+        scheduleFlush();
     }
 
     @Override
     public void onUpdateLog(LogRecord record) {
         if (includeLogs) {
-            sendData(Map.of(KEY_LOGS, List.of(record)));
+            synchronized (this) {
+                addLimited(pendingLogs, record);
+            }
+            scheduleFlush();
+        }
+    }
+
+    private <T> void addLimited(Deque<T> queue, T item) {
+        if (queue.size() >= bufferSize) {
+            queue.poll();
+        }
+        queue.add(item);
+    }
+
+    private void scheduleFlush() {
+        if (flushInterval > 0) {
+            synchronized (this) {
+                if (flushScheduled) {
+                    return;
+                }
+                flushScheduled = true;
+            }
+            timer.newTimeout(timeout -> flush(), flushInterval, TimeUnit.MILLISECONDS);
+        } else {
+            flush();
+        }
+    }
+
+    private void flush() {
+        Session session = this.session;
+        List<Device> devices;
+        List<Position> positions;
+        List<Event> events;
+        List<LogRecord> logs;
+        synchronized (this) {
+            flushScheduled = false;
+            if (sending || session == null || !session.isOpen()) {
+                return;
+            }
+            if (pendingDevices.isEmpty() && pendingPositions.isEmpty()
+                    && pendingEvents.isEmpty() && pendingLogs.isEmpty()) {
+                return;
+            }
+            devices = new ArrayList<>(pendingDevices.values());
+            positions = new ArrayList<>(pendingPositions.values());
+            events = new ArrayList<>(pendingEvents);
+            logs = new ArrayList<>(pendingLogs);
+            pendingDevices.clear();
+            pendingPositions.clear();
+            pendingEvents.clear();
+            pendingLogs.clear();
+            sending = true;
+        }
+
+        StringBuilder message = new StringBuilder("{");
+        try {
+            if (!devices.isEmpty()) {
+                appendArray(message, KEY_DEVICES, devices, false);
+            }
+            if (!positions.isEmpty()) {
+                appendArray(message, KEY_POSITIONS, positions, true);
+            }
+            if (!events.isEmpty()) {
+                appendArray(message, KEY_EVENTS, events, true);
+            }
+            if (!logs.isEmpty()) {
+                appendArray(message, KEY_LOGS, logs, false);
+            }
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Socket JSON formatting error", e);
+            onSent();
+            return;
+        }
+        message.append('}');
+
+        session.sendText(message.toString(), new Callback() {
+            @Override
+            public void succeed() {
+                onSent();
+            }
+
+            @Override
+            public void fail(Throwable x) {
+                onSent();
+            }
+        });
+    }
+
+    private void onSent() {
+        boolean pending;
+        synchronized (this) {
+            sending = false;
+            pending = !pendingDevices.isEmpty() || !pendingPositions.isEmpty()
+                    || !pendingEvents.isEmpty() || !pendingLogs.isEmpty();
+        }
+        if (pending) {
+            flush();
+        }
+    }
+
+    private void appendArray(
+            StringBuilder message, String key, List<?> items, boolean shared) throws JsonProcessingException {
+        if (message.length() > 1) {
+            message.append(',');
+        }
+        message.append('"').append(key).append("\":[");
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                message.append(',');
+            }
+            message.append(shared ? serializeShared(items.get(i)) : objectMapper.writeValueAsString(items.get(i)));
+        }
+        message.append(']');
+    }
+
+    /**
+     * Positions and events are not modified after they are published, so their JSON is shared between sockets.
+     */
+    private String serializeShared(Object item) throws JsonProcessingException {
+        String json = jsonCache.get(item);
+        if (json == null) {
+            json = objectMapper.writeValueAsString(item);
+            jsonCache.put(item, json);
         }
+        return json;
     }
 
     private void sendData(Map<String, Collection<?>> data) {
+        Session session = this.session;
         if (session != null && session.isOpen()) {
             try {
                 session.sendText(objectMapper.writeValueAsString(data), Callback.NOOP);
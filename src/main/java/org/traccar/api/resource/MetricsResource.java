@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.api.resource;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.traccar.api.BaseResource;
+import org.traccar.database.MetricsRegistry;
+import org.traccar.storage.StorageException;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@Path("metrics")
+public class MetricsResource extends BaseResource {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Inject
+    private MetricsRegistry metricsRegistry;
+
+    @GET
+    @Produces(CONTENT_TYPE)
+    public Response get() throws StorageException {
+        permissionsService.checkAdmin(getUserId());
+        if (!metricsRegistry.isEnabled()) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        StreamingOutput stream = output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            metricsRegistry.write(writer);
+            writer.flush();
+        };
+        return Response.ok(stream, CONTENT_TYPE).build();
+    }
+
+}
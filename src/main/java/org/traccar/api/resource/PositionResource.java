@@ -21,11 +21,13 @@ import org.traccar.config.Keys;
 import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Geofence;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.Position;
 import org.traccar.model.UserRestrictions;
 import org.traccar.reports.CsvExportProvider;
 import org.traccar.reports.GpxExportProvider;
 import org.traccar.reports.KmlExportProvider;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
@@ -70,6 +72,9 @@ public class PositionResource extends BaseResource {
     @Inject
     private Config config;
 
+    @Inject
+    private CacheManager cacheManager;
+
     @GET
     public Stream<Position> getJson(
             @QueryParam("deviceId") long deviceId, @QueryParam("id") List<Long> positionIds,
@@ -96,18 +101,20 @@ public class PositionResource extends BaseResource {
                 return PositionUtil.getPositionsStream(
                         storage, deviceId, from, to, config.getInteger(Keys.REPORT_MAX_POSITIONS))
                         .filter(position -> geofence == null || geofence.containsPosition(position));
+            } else if (cacheManager.hasLatestPositions()) {
+                return Stream.ofNullable(cacheManager.getLatestPosition(deviceId));
             } else {
                 return storage.getObjectsStream(Position.class, new Request(
                         new Columns.All(), new Condition.LatestPositions(deviceId)));
             }
         } else {
-            return PositionUtil.getLatestPositions(storage, getUserId()).stream();
+            return PositionUtil.getLatestPositions(storage, cacheManager, getUserId()).stream();
         }
     }
 
     @Path("{id}")
     @DELETE
-    public Response removeById(@PathParam("id") long positionId) throws StorageException {
+    public Response removeById(@PathParam("id") long positionId) throws Exception {
         permissionsService.checkRestriction(getUserId(), UserRestrictions::getReadonly);
 
         Request request = new Request(new Columns.All(), new Condition.Equals("id", positionId));
@@ -119,13 +126,14 @@ public class PositionResource extends BaseResource {
         permissionsService.checkPermission(Device.class, getUserId(), position.getDeviceId());
 
         storage.removeObject(Position.class, request);
+        invalidateLatestPosition(position.getDeviceId(), position.getFixTime(), position.getFixTime());
         return Response.status(Response.Status.NO_CONTENT).build();
     }
 
     @DELETE
     public Response remove(
             @QueryParam("deviceId") long deviceId,
-            @QueryParam("from") Date from, @QueryParam("to") Date to) throws StorageException {
+            @QueryParam("from") Date from, @QueryParam("to") Date to) throws Exception {
         permissionsService.checkPermission(Device.class, getUserId(), deviceId);
         permissionsService.checkRestriction(getUserId(), UserRestrictions::getReadonly);
 
@@ -133,10 +141,20 @@ public class PositionResource extends BaseResource {
         conditions.add(new Condition.Equals("deviceId", deviceId));
         conditions.add(new Condition.Between("fixTime", from, to));
         storage.removeObject(Position.class, new Request(Condition.merge(conditions)));
+        invalidateLatestPosition(deviceId, from, to);
 
         return Response.status(Response.Status.NO_CONTENT).build();
     }
 
+    private void invalidateLatestPosition(long deviceId, Date from, Date to) throws Exception {
+        if (cacheManager.hasLatestPositions()) {
+            Position latest = cacheManager.getLatestPosition(deviceId);
+            if (latest != null && !latest.getFixTime().before(from) && !latest.getFixTime().after(to)) {
+                cacheManager.invalidateObject(true, Position.class, latest.getId(), ObjectOperation.DELETE);
+            }
+        }
+    }
+
     @Path("{extension:kml|kmz}")
     @GET
     public Response getKml(
@@ -17,11 +17,14 @@ package org.traccar.api.resource;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.core.Context;
+import org.traccar.ProcessingHandler;
 import org.traccar.api.BaseResource;
 import org.traccar.model.ObjectOperation;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.database.OpenIdProvider;
+import org.traccar.database.DeviceStateWriter;
+import org.traccar.database.PositionBatchWriter;
 import org.traccar.geocoder.Geocoder;
 import org.traccar.helper.Log;
 import org.traccar.helper.LogAction;
@@ -40,6 +43,7 @@ import jakarta.annotation.Nullable;
 import jakarta.annotation.security.PermitAll;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
@@ -47,6 +51,7 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.io.File;
@@ -56,7 +61,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
 
 @Path("server")
@@ -88,6 +95,15 @@ public class ServerResource extends BaseResource {
     @Inject
     private LogAction actionLogger;
 
+    @Inject
+    private ProcessingHandler processingHandler;
+
+    @Inject
+    private PositionBatchWriter batchWriter;
+
+    @Inject
+    private DeviceStateWriter deviceStateWriter;
+
     @Context
     private HttpServletRequest request;
 
@@ -177,6 +193,37 @@ public class ServerResource extends BaseResource {
         return cacheManager.toString();
     }
 
+    @Path("queues")
+    @GET
+    public Map<String, Object> queues(@QueryParam("limit") @DefaultValue("20") int limit) throws StorageException {
+        permissionsService.checkAdmin(getUserId());
+        if (limit <= 0) {
+            throw new WebApplicationException(Response.Status.BAD_REQUEST);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("devices", processingHandler.getQueuedDevices());
+        result.put("positions", processingHandler.getQueuedPositions());
+        result.put("averageWait", processingHandler.getAverageWaitTime());
+        result.put("maxWait", processingHandler.getMaxWaitTime());
+        result.put("backlog", processingHandler.getQueueDepths(limit));
+
+        Map<String, Object> writer = new LinkedHashMap<>();
+        writer.put("queue", batchWriter.getQueueSize());
+        writer.put("overloaded", batchWriter.isOverloaded());
+        writer.put("flushes", batchWriter.getFlushCount());
+        writer.put("averageFlushTime", batchWriter.getAverageFlushTime());
+        writer.put("maxFlushTime", batchWriter.getMaxFlushTime());
+        writer.put("batchSizes", batchWriter.getBatchSizes());
+        result.put("positionWriter", writer);
+
+        Map<String, Object> stateWriter = new LinkedHashMap<>();
+        stateWriter.put("queue", deviceStateWriter.getQueueSize());
+        stateWriter.put("coalesced", deviceStateWriter.getCoalescedCount());
+        stateWriter.put("written", deviceStateWriter.getWrittenCount());
+        result.put("deviceStateWriter", stateWriter);
+        return result;
+    }
+
     @Path("reboot")
     @POST
     public void reboot() throws StorageException {
@@ -23,11 +23,13 @@ import org.traccar.api.signature.TokenManager;
 import org.traccar.database.OpenIdProvider;
 import org.traccar.helper.LogAction;
 import org.traccar.helper.SessionHelper;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.RevokedToken;
 import org.traccar.model.User;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.query.Request;
 
 import com.nimbusds.oauth2.sdk.ParseException;
@@ -71,6 +73,9 @@ public class SessionResource extends BaseResource {
     @Inject
     private LogAction actionLogger;
 
+    @Inject
+    private CacheManager cacheManager;
+
     @Context
     private HttpServletRequest request;
 
@@ -164,11 +169,10 @@ public class SessionResource extends BaseResource {
     @Path("token/revoke")
     @POST
     public Response revokeToken(
-            @FormParam("token") String token) throws StorageException, GeneralSecurityException, IOException {
+            @FormParam("token") String token) throws Exception {
         TokenManager.TokenData data = tokenManager.decodeToken(token);
-        RevokedToken revokedToken = new RevokedToken();
-        revokedToken.setId(data.getId());
-        storage.addObject(revokedToken, new Request(new Columns.Include("id")));
+        tokenManager.revokeToken(data);
+        cacheManager.invalidateObject(true, RevokedToken.class, data.getId(), ObjectOperation.ADD);
         return Response.noContent().build();
     }
 
@@ -16,14 +16,19 @@
 package org.traccar.api.security;
 
 import com.warrenstrange.googleauth.GoogleAuthenticator;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.traccar.api.signature.TokenManager;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.database.LdapProvider;
 import org.traccar.helper.DataConverter;
 import org.traccar.helper.model.UserUtil;
+import org.traccar.model.BaseModel;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.RevokedToken;
 import org.traccar.model.Server;
 import org.traccar.model.User;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -36,11 +41,15 @@ import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 @Singleton
-public class LoginService {
+public class LoginService implements CacheManager.InvalidationListener {
 
     private final Config config;
     private final Storage storage;
@@ -52,9 +61,16 @@ public class LoginService {
     private final boolean forceOpenId;
     private final boolean allowOpenIdRegistration;
 
+    private record CachedLogin(LoginResult result, long expiration) {
+    }
+
+    private final long authCacheTimeout;
+    private final Map<String, CachedLogin> authCache;
+
     @Inject
     public LoginService(
-            Config config, Storage storage, TokenManager tokenManager, @Nullable LdapProvider ldapProvider) {
+            Config config, Storage storage, TokenManager tokenManager, CacheManager cacheManager,
+            @Nullable LdapProvider ldapProvider) {
         this.storage = storage;
         this.config = config;
         this.tokenManager = tokenManager;
@@ -63,10 +79,69 @@ public class LoginService {
         forceLdap = config.getBoolean(Keys.LDAP_FORCE);
         forceOpenId = config.getBoolean(Keys.OPENID_FORCE);
         allowOpenIdRegistration = config.getBoolean(Keys.OPENID_ALLOW_REGISTRATION);
+
+        authCacheTimeout = TimeUnit.SECONDS.toMillis(config.getLong(Keys.WEB_AUTH_CACHE_TIMEOUT));
+        int authCacheSize = config.getInteger(Keys.WEB_AUTH_CACHE_SIZE);
+        if (authCacheTimeout > 0 && authCacheSize > 0) {
+            authCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry eldest) {
+                    return size() > authCacheSize;
+                }
+            });
+            cacheManager.addInvalidationListener(this);
+        } else {
+            authCache = null;
+        }
     }
 
+    /**
+     * Authenticate Authorization header credentials. Successful results are cached for a short time, keyed by a hash
+     * of the credentials, to avoid password hashing and token signature checks on every request.
+     */
     public LoginResult login(
             String scheme, String credentials) throws StorageException, GeneralSecurityException, IOException {
+        if (authCache == null) {
+            return authenticate(scheme, credentials);
+        }
+
+        String key = DigestUtils.sha256Hex(scheme.toLowerCase(Locale.ROOT) + ' ' + credentials);
+        long currentTime = System.currentTimeMillis();
+        CachedLogin cachedLogin = authCache.get(key);
+        if (cachedLogin != null) {
+            if (cachedLogin.expiration() > currentTime) {
+                return cachedLogin.result();
+            }
+            authCache.remove(key);
+        }
+
+        LoginResult result = authenticate(scheme, credentials);
+        if (result != null && result.getUser() != null) {
+            long expiration = currentTime + authCacheTimeout;
+            if (result.getExpiration() != null) {
+                expiration = Math.min(expiration, result.getExpiration().getTime());
+            }
+            if (result.getUser().getExpirationTime() != null) {
+                expiration = Math.min(expiration, result.getUser().getExpirationTime().getTime());
+            }
+            authCache.put(key, new CachedLogin(result, expiration));
+        }
+        return result;
+    }
+
+    @Override
+    public void onInvalidateObject(Class<? extends BaseModel> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(User.class)) {
+            synchronized (authCache) {
+                authCache.values().removeIf(cachedLogin -> cachedLogin.result().getUser().getId() == id);
+            }
+        } else if (clazz.equals(RevokedToken.class)) {
+            authCache.clear();
+        }
+    }
+
+    private LoginResult authenticate(
+            String scheme, String credentials) throws StorageException, GeneralSecurityException, IOException {
         switch (scheme.toLowerCase(Locale.ROOT)) {
             case "bearer":
                 return login(credentials);
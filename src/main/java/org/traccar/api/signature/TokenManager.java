@@ -18,7 +18,10 @@ package org.traccar.api.signature;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.codec.binary.Base64;
+import org.traccar.model.BaseModel;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.RevokedToken;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -31,10 +34,13 @@ import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
 import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 @Singleton
-public class TokenManager {
+public class TokenManager implements CacheManager.InvalidationListener {
 
     private static final int DEFAULT_EXPIRATION_DAYS = 7;
 
@@ -44,6 +50,53 @@ public class TokenManager {
 
     private final SecureRandom random = new SecureRandom();
 
+    private volatile RevokedTokens revokedTokens;
+
+    /**
+     * Revoked token ids with a Bloom filter in front of the exact set, so lookups of valid tokens, which is almost
+     * every lookup, usually touch only the filter bits. The filter is sized when loaded and rebuilt on pruning.
+     */
+    private static final class RevokedTokens {
+
+        private static final int MIN_BITS = 1 << 16;
+        private static final int HASH_COUNT = 3;
+
+        private final Set<Long> tokens = ConcurrentHashMap.newKeySet();
+        private final AtomicLongArray filter;
+        private final int mask;
+
+        RevokedTokens(int expectedSize) {
+            int bits = Math.max(MIN_BITS, Integer.highestOneBit(Math.max(expectedSize, 1) * 16 - 1) << 1);
+            filter = new AtomicLongArray(bits / Long.SIZE);
+            mask = bits - 1;
+        }
+
+        private int index(long id, int i) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return ((int) hash + i * (int) (hash >>> 32)) & mask;
+        }
+
+        void add(long id) {
+            tokens.add(id);
+            for (int i = 0; i < HASH_COUNT; i++) {
+                int index = index(id, i);
+                long bit = 1L << index;
+                filter.getAndAccumulate(index >>> 6, bit, (value, update) -> value | update);
+            }
+        }
+
+        boolean contains(long id) {
+            for (int i = 0; i < HASH_COUNT; i++) {
+                int index = index(id, i);
+                if ((filter.get(index >>> 6) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return tokens.contains(id);
+        }
+
+    }
+
     public static class TokenData {
         @JsonProperty("i")
         private long id;
@@ -66,10 +119,12 @@ public class TokenManager {
     }
 
     @Inject
-    public TokenManager(ObjectMapper objectMapper, CryptoManager cryptoManager, Storage storage) {
+    public TokenManager(
+            ObjectMapper objectMapper, CryptoManager cryptoManager, Storage storage, CacheManager cacheManager) {
         this.objectMapper = objectMapper;
         this.cryptoManager = cryptoManager;
         this.storage = storage;
+        cacheManager.addInvalidationListener(this);
     }
 
     public String generateToken(long userId) throws IOException, GeneralSecurityException, StorageException {
@@ -95,14 +150,63 @@ public class TokenManager {
         if (data.expiration.before(new Date())) {
             throw new SecurityException("Token has expired");
         }
-        var revoked = storage.getObject(RevokedToken.class, new Request(
-                new Columns.All(), new Condition.Equals("id", data.getId())));
-        if (revoked != null) {
+        if (getRevokedTokens().contains(data.getId())) {
             throw new SecurityException("Token has been revoked");
         }
         return data;
     }
 
+    public void revokeToken(TokenData data) throws StorageException {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setId(data.getId());
+        revokedToken.setExpiration(data.getExpiration());
+        storage.addObject(revokedToken, new Request(new Columns.Include("id", "expiration")));
+        getRevokedTokens().add(data.getId());
+    }
+
+    /**
+     * Remove revoked tokens that have already expired and reload the revocation set from the database.
+     */
+    public void pruneRevokedTokens() throws StorageException {
+        storage.removeObject(RevokedToken.class, new Request(
+                new Condition.Compare("expiration", "<", new Date())));
+        synchronized (this) {
+            revokedTokens = loadRevokedTokens();
+        }
+    }
+
+    private RevokedTokens getRevokedTokens() throws StorageException {
+        RevokedTokens result = revokedTokens;
+        if (result == null) {
+            synchronized (this) {
+                result = revokedTokens;
+                if (result == null) {
+                    result = loadRevokedTokens();
+                    revokedTokens = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private RevokedTokens loadRevokedTokens() throws StorageException {
+        var ids = storage.getObjects(RevokedToken.class, new Request(new Columns.Include("id")));
+        RevokedTokens result = new RevokedTokens(ids.size());
+        ids.forEach(revokedToken -> result.add(revokedToken.getId()));
+        return result;
+    }
+
+    @Override
+    public void onInvalidateObject(Class<? extends BaseModel> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(RevokedToken.class) && operation == ObjectOperation.ADD) {
+            synchronized (this) {
+                if (revokedTokens != null) {
+                    revokedTokens.add(id);
+                }
+            }
+        }
+    }
+
     public TokenData decodeToken(String token) throws IOException, GeneralSecurityException, StorageException {
         byte[] encoded = cryptoManager.verify(Base64.decodeBase64(token));
         return objectMapper.readValue(encoded, TokenData.class);
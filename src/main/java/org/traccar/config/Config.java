@@ -26,14 +26,25 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.InvalidPropertiesFormatException;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+/**
+ * Server configuration. The configuration does not change after loading, so resolved values (including environment
+ * variable overrides) and parsed typed values are cached on first access and later reads are simple map lookups.
+ */
 @Singleton
 public class Config {
 
     private final Properties properties = new Properties();
 
+    private final Map<String, Optional<String>> resolvedValues = new ConcurrentHashMap<>();
+    private final Map<ConfigKey<?>, Object> typedValues = new ConcurrentHashMap<>();
+
     private boolean useEnvironmentVariables;
 
     public Config() {}
@@ -68,8 +79,7 @@ public class Config {
     }
 
     public String getString(ConfigKey<String> key) {
-        String value = getString(key.getKey());
-        return value != null ? value : key.getDefaultValue();
+        return getTyped(key, value -> value);
     }
 
     public String getString(ConfigKey<String> key, String defaultValue) {
@@ -78,6 +88,15 @@ public class Config {
     }
 
     public String getString(String key) {
+        Optional<String> value = resolvedValues.get(key);
+        if (value == null) {
+            value = Optional.ofNullable(resolveString(key));
+            resolvedValues.put(key, value);
+        }
+        return value.orElse(null);
+    }
+
+    private String resolveString(String key) {
         if (useEnvironmentVariables) {
             String value = System.getenv(getEnvironmentVariableName(key));
             if (value != null && !value.isEmpty()) {
@@ -87,24 +106,27 @@ public class Config {
         return properties.getProperty(key);
     }
 
-    public boolean getBoolean(ConfigKey<Boolean> key) {
-        String value = getString(key.getKey());
-        if (value != null) {
-            return Boolean.parseBoolean(value);
-        } else {
-            Boolean defaultValue = key.getDefaultValue();
-            return Objects.requireNonNullElse(defaultValue, false);
+    /**
+     * Returns the parsed value of the key or its default value. A missing value without default is cached as the key
+     * itself, because the map cannot hold null values.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getTyped(ConfigKey<T> key, Function<String, T> parser) {
+        Object value = typedValues.get(key);
+        if (value == null) {
+            String string = getString(key.getKey());
+            value = string != null ? parser.apply(string) : key.getDefaultValue();
+            typedValues.put(key, value != null ? value : key);
         }
+        return value != key ? (T) value : null;
+    }
+
+    public boolean getBoolean(ConfigKey<Boolean> key) {
+        return Objects.requireNonNullElse(getTyped(key, Boolean::parseBoolean), false);
     }
 
     public int getInteger(ConfigKey<Integer> key) {
-        String value = getString(key.getKey());
-        if (value != null) {
-            return Integer.parseInt(value);
-        } else {
-            Integer defaultValue = key.getDefaultValue();
-            return Objects.requireNonNullElse(defaultValue, 0);
-        }
+        return Objects.requireNonNullElse(getTyped(key, Integer::parseInt), 0);
     }
 
     public int getInteger(ConfigKey<Integer> key, int defaultValue) {
@@ -113,28 +135,18 @@ public class Config {
     }
 
     public long getLong(ConfigKey<Long> key) {
-        String value = getString(key.getKey());
-        if (value != null) {
-            return Long.parseLong(value);
-        } else {
-            Long defaultValue = key.getDefaultValue();
-            return Objects.requireNonNullElse(defaultValue, 0L);
-        }
+        return Objects.requireNonNullElse(getTyped(key, Long::parseLong), 0L);
     }
 
     public double getDouble(ConfigKey<Double> key) {
-        String value = getString(key.getKey());
-        if (value != null) {
-            return Double.parseDouble(value);
-        } else {
-            Double defaultValue = key.getDefaultValue();
-            return Objects.requireNonNullElse(defaultValue, 0.0);
-        }
+        return Objects.requireNonNullElse(getTyped(key, Double::parseDouble), 0.0);
     }
 
     @VisibleForTesting
     public void setString(ConfigKey<?> key, String value) {
         properties.put(key.getKey(), value);
+        resolvedValues.clear();
+        typedValues.clear();
     }
 
     static String getEnvironmentVariableName(String key) {
@@ -18,9 +18,13 @@ package org.traccar.config;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class ConfigKey<T> {
 
+    private static final AtomicInteger SETTINGS_COUNT = new AtomicInteger();
+
+    private volatile int settingsIndex = -1;
     private final String key;
     private final Set<KeyType> types = new HashSet<>();
     private final Class<T> valueClass;
@@ -33,6 +37,31 @@ public abstract class ConfigKey<T> {
         this.defaultValue = defaultValue;
     }
 
+    /**
+     * Number of settings indexes assigned so far.
+     */
+    public static int getSettingsCount() {
+        return SETTINGS_COUNT.get();
+    }
+
+    /**
+     * Dense index for keeping per-key values in flat arrays. It is assigned on first use, so only keys that are
+     * actually looked up take a slot, including keys created after startup.
+     */
+    public int getSettingsIndex() {
+        int index = settingsIndex;
+        if (index < 0) {
+            synchronized (this) {
+                index = settingsIndex;
+                if (index < 0) {
+                    index = SETTINGS_COUNT.getAndIncrement();
+                    settingsIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
     public String getKey() {
         return key;
     }
@@ -16,6 +16,8 @@
 package org.traccar.config;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class ConfigSuffix<T> {
 
@@ -29,7 +31,21 @@ public abstract class ConfigSuffix<T> {
         this.defaultValue = defaultValue;
     }
 
-    public abstract ConfigKey<T> withPrefix(String prefix);
+    private final Map<String, ConfigKey<T>> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the key for the given prefix. Keys are created once per prefix, so lookups on hot paths do not allocate
+     * and can be cached by key.
+     */
+    public ConfigKey<T> withPrefix(String prefix) {
+        ConfigKey<T> key = keys.get(prefix);
+        if (key == null) {
+            key = keys.computeIfAbsent(prefix, this::createKey);
+        }
+        return key;
+    }
+
+    protected abstract ConfigKey<T> createKey(String prefix);
 
 }
 
@@ -41,7 +57,7 @@ class StringConfigSuffix extends ConfigSuffix<String> {
         super(key, types, defaultValue);
     }
     @Override
-    public ConfigKey<String> withPrefix(String prefix) {
+    protected ConfigKey<String> createKey(String prefix) {
         return new StringConfigKey(prefix + keySuffix, types, defaultValue);
     }
 }
@@ -54,7 +70,7 @@ class BooleanConfigSuffix extends ConfigSuffix<Boolean> {
         super(key, types, defaultValue);
     }
     @Override
-    public ConfigKey<Boolean> withPrefix(String prefix) {
+    protected ConfigKey<Boolean> createKey(String prefix) {
         return new BooleanConfigKey(prefix + keySuffix, types, defaultValue);
     }
 }
@@ -67,7 +83,7 @@ class IntegerConfigSuffix extends ConfigSuffix<Integer> {
         super(key, types, defaultValue);
     }
     @Override
-    public ConfigKey<Integer> withPrefix(String prefix) {
+    protected ConfigKey<Integer> createKey(String prefix) {
         return new IntegerConfigKey(prefix + keySuffix, types, defaultValue);
     }
 }
@@ -80,7 +96,7 @@ class LongConfigSuffix extends ConfigSuffix<Long> {
         super(key, types, defaultValue);
     }
     @Override
-    public ConfigKey<Long> withPrefix(String prefix) {
+    protected ConfigKey<Long> createKey(String prefix) {
         return new LongConfigKey(prefix + keySuffix, types, defaultValue);
     }
 }
@@ -93,7 +109,7 @@ class DoubleConfigSuffix extends ConfigSuffix<Double> {
         super(key, types, defaultValue);
     }
     @Override
-    public ConfigKey<Double> withPrefix(String prefix) {
+    protected ConfigKey<Double> createKey(String prefix) {
         return new DoubleConfigKey(prefix + keySuffix, types, defaultValue);
     }
 }
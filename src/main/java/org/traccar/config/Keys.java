@@ -394,6 +394,15 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "https://www.traccar.org/analytics/");
 
+    /**
+     * Enable collection of runtime metrics and expose them in Prometheus text format at the "/api/metrics" endpoint.
+     * The endpoint is available to administrators only.
+     */
+    public static final ConfigKey<Boolean> METRICS_ENABLE = new BooleanConfigKey(
+            "metrics.enable",
+            List.of(KeyType.CONFIG),
+            false);
+
     /**
      * Fuel drop threshold value. When fuel level drops from one position to another by more than this value, an event
      * is generated.
@@ -597,6 +606,24 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             1000);
 
+    /**
+     * Maximum number of compiled query plans kept by the database storage. Plans are keyed by entity, columns,
+     * condition shape and order, so the default value is enough for most installations.
+     */
+    public static final ConfigKey<Integer> DATABASE_QUERY_CACHE_SIZE = new IntegerConfigKey(
+            "database.queryCacheSize",
+            List.of(KeyType.CONFIG),
+            1000);
+
+    /**
+     * Number of prepared statements cached by the JDBC driver per connection. Only applied for MySQL and MariaDB
+     * drivers, which have statement caching disabled by default. Set to 0 to keep driver defaults.
+     */
+    public static final ConfigKey<Integer> DATABASE_STATEMENT_CACHE_SIZE = new IntegerConfigKey(
+            "database.statementCacheSize",
+            List.of(KeyType.CONFIG),
+            250);
+
     /**
      * SQL query to check connection status. Default value is 'SELECT 1'. For Oracle database you can use
      * 'SELECT 1 FROM DUAL'.
@@ -620,6 +647,17 @@ public final class Keys {
             "database.throttleUnknown",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Keep an in-memory index of device identifiers. The index is loaded on startup and updated on device changes,
+     * so known devices are resolved without a database query by identifier. Index matching is case-sensitive. An
+     * identifier missing from the index, for example a device inserted directly into the database or an identifier
+     * that differs only in case on a database with case-insensitive collation, falls back to a database query that is
+     * throttled per identifier the same way as with database.throttleUnknown.
+     */
+    public static final ConfigKey<Boolean> DATABASE_DEVICE_INDEX = new BooleanConfigKey(
+            "database.deviceIndex",
+            List.of(KeyType.CONFIG));
+
     /**
      * Automatically register unknown devices in the database.
      */
@@ -656,6 +694,15 @@ public final class Keys {
             "database.positionPeriod",
             List.of(KeyType.CONFIG), 7776000L);
 
+    /**
+     * Keep the latest position of every device in memory. The cache is loaded on startup and updated from the live
+     * position stream and cluster broadcasts, so WebSocket connections and latest position requests do not query the
+     * positions table.
+     */
+    public static final ConfigKey<Boolean> DATABASE_LATEST_POSITIONS_CACHE = new BooleanConfigKey(
+            "database.latestPositionsCache",
+            List.of(KeyType.CONFIG));
+
     /**
      * Store empty messages as positions. For example, heartbeats.
      */
@@ -680,6 +727,17 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             0L);
 
+    /**
+     * If not zero, device state changes (status, last update, latest position, motion and overspeed state) are merged
+     * in memory and written in batches. The value is the flush interval in milliseconds. Only the latest state of each
+     * device is written, so busy devices and mass disconnects result in a few multi-row updates instead of one update
+     * per change. On startup, latest position references lost in an unclean shutdown are recovered from positions.
+     */
+    public static final ConfigKey<Long> DATABASE_DEVICE_STATE_INTERVAL = new LongConfigKey(
+            "database.deviceStateInterval",
+            List.of(KeyType.CONFIG),
+            0L);
+
     /**
      * Maximum number of positions written in a single batch. Default value is 100, which is safe across all supported
      * databases including SQL Server (with its 2100 parameter limit). Postgres and MySQL can typically handle much
@@ -690,6 +748,73 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             100);
 
+    /**
+     * Use database specific bulk insert for position batches. On PostgreSQL batches are written with COPY and ids are
+     * reserved from the table sequence in advance. On MySQL and MariaDB batches are written as multi-row INSERT
+     * statements. Other databases keep using JDBC batches.
+     */
+    public static final ConfigKey<Boolean> DATABASE_POSITION_BULK_INSERT = new BooleanConfigKey(
+            "database.positionBulkInsert",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Number of parallel position batch writers. Positions are assigned to writers by device id, so the order of
+     * positions for each device is preserved. Default value is 1.
+     */
+    public static final ConfigKey<Integer> DATABASE_POSITION_BATCH_WRITERS = new IntegerConfigKey(
+            "database.positionBatchWriters",
+            List.of(KeyType.CONFIG),
+            1);
+
+    /**
+     * Number of pending positions after which the server stops reading from device connections until batch writers
+     * catch up. Reading resumes when the queue drops to half of this value. Default value is 10000.
+     */
+    public static final ConfigKey<Integer> DATABASE_POSITION_BATCH_QUEUE_SIZE = new IntegerConfigKey(
+            "database.positionBatchQueueSize",
+            List.of(KeyType.CONFIG),
+            10000);
+
+    /**
+     * Store positions and events in time range partitions on PostgreSQL, MySQL and MariaDB. Partitions are created
+     * ahead by a background task. Existing unpartitioned tables are only converted when database.partitionConvert is
+     * also enabled; until then retention deletes old rows. TimescaleDB hypertables are already partitioned and are
+     * left unchanged.
+     */
+    public static final ConfigKey<Boolean> DATABASE_PARTITION = new BooleanConfigKey(
+            "database.partition",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Convert existing unpartitioned position and event tables on the next partition maintenance run. Existing rows
+     * stay in a single legacy partition. On PostgreSQL the index and range check are prepared without blocking
+     * writes, but the final switch still needs a short exclusive lock, and foreign keys are kept on the partitioned
+     * table. On MySQL and MariaDB the conversion copies the whole table and blocks writes for its duration, so it
+     * should be run in a maintenance window and the option disabled afterwards. InnoDB can not partition tables with
+     * foreign keys, so fk_positions_deviceid and fk_events_deviceid have to be dropped manually before converting,
+     * after which deleting a device no longer removes its positions and events.
+     */
+    public static final ConfigKey<Boolean> DATABASE_PARTITION_CONVERT = new BooleanConfigKey(
+            "database.partitionConvert",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Length of a position and event partition in days. Default value is 7.
+     */
+    public static final ConfigKey<Integer> DATABASE_PARTITION_DAYS = new IntegerConfigKey(
+            "database.partitionDays",
+            List.of(KeyType.CONFIG),
+            7);
+
+    /**
+     * Number of days positions and events are kept. Partitioned tables drop whole partitions once all their data is
+     * older than the retention period, other tables delete old rows. Default value is 0, which keeps all data.
+     */
+    public static final ConfigKey<Integer> DATABASE_RETENTION_DAYS = new IntegerConfigKey(
+            "database.retentionDays",
+            List.of(KeyType.CONFIG),
+            0);
+
     /**
      * Device limit for self registered users. Default value is -1, which indicates no limit.
      */
@@ -967,6 +1092,34 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             300000L);
 
+    /**
+     * Interval in milliseconds for combining WebSocket updates into a single message. Devices and positions are
+     * coalesced, so only the latest state of each device is sent. Updates are also held back while a previous message
+     * to the same client has not been written yet. Default value is 0, which sends updates as soon as possible.
+     */
+    public static final ConfigKey<Long> WEB_SOCKET_FLUSH_INTERVAL = new LongConfigKey(
+            "web.socketFlushInterval",
+            List.of(KeyType.CONFIG),
+            0L);
+
+    /**
+     * Maximum number of events and log records buffered for a slow WebSocket client. Oldest entries are dropped when
+     * the limit is reached.
+     */
+    public static final ConfigKey<Integer> WEB_SOCKET_BUFFER_SIZE = new IntegerConfigKey(
+            "web.socketBufferSize",
+            List.of(KeyType.CONFIG),
+            100);
+
+    /**
+     * Number of threads delivering live updates to WebSocket clients. Each user is served by a single thread, so the
+     * order of updates is preserved. Zero value delivers updates on the thread that produced them.
+     */
+    public static final ConfigKey<Integer> WEB_SOCKET_DISPATCH_THREADS = new IntegerConfigKey(
+            "web.socketDispatchThreads",
+            List.of(KeyType.CONFIG),
+            2);
+
     /**
      * Authentication session timeout in seconds. By default, there is no timeout.
      */
@@ -974,6 +1127,23 @@ public final class Keys {
             "web.sessionTimeout",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Time in seconds to cache verified credentials from the Authorization header (basic and bearer). Cached entries
+     * are invalidated when the user is updated or deleted and when a token is revoked. Zero value disables the cache.
+     */
+    public static final ConfigKey<Long> WEB_AUTH_CACHE_TIMEOUT = new LongConfigKey(
+            "web.authCacheTimeout",
+            List.of(KeyType.CONFIG),
+            60L);
+
+    /**
+     * Maximum number of cached verified credentials.
+     */
+    public static final ConfigKey<Integer> WEB_AUTH_CACHE_SIZE = new IntegerConfigKey(
+            "web.authCacheSize",
+            List.of(KeyType.CONFIG),
+            1000);
+
     /**
      * Enable database access console via '/console' URL. Use only for debugging. Never use in production.
      */
@@ -1579,6 +1749,34 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             86400L);
 
+    /**
+     * Number of devices processed in parallel for multi-device reports. The pool is shared by all report requests,
+     * so it also caps the number of database connections used by reports. Set to 1 to process devices sequentially
+     * on the request thread.
+     */
+    public static final ConfigKey<Integer> REPORT_WORKERS = new IntegerConfigKey(
+            "report.workers",
+            List.of(KeyType.CONFIG),
+            4);
+
+    /**
+     * Maintain daily per-device summaries (UTC days) and use them for summary reports. Closed days are collected from
+     * the live position stream and written by a background task every minute, and missing days are rebuilt hourly, so
+     * reports only scan raw positions for partially covered days. Ranges above the fast threshold use summaries only
+     * when every full day has one, and fall back to the fast edge lookup otherwise.
+     */
+    public static final ConfigKey<Boolean> REPORT_SUMMARY_ROLLUP = new BooleanConfigKey(
+            "report.summaryRollup",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Number of past days checked for missing daily summaries by the rebuild task.
+     */
+    public static final ConfigKey<Integer> REPORT_SUMMARY_ROLLUP_DAYS = new IntegerConfigKey(
+            "report.summaryRollupDays",
+            List.of(KeyType.CONFIG),
+            7);
+
     /**
      * Enable new trips calculation logic.
      */
@@ -1907,6 +2105,14 @@ public final class Keys {
             "processing.computedAttributes.newInstanceCreation",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Maximum number of compiled computed attribute expressions kept in memory. Default value is 1000.
+     */
+    public static final ConfigKey<Integer> PROCESSING_COMPUTED_ATTRIBUTES_CACHE_SIZE = new IntegerConfigKey(
+            "processing.computedAttributes.cacheSize",
+            List.of(KeyType.CONFIG),
+            1000);
+
     /**
      * Boolean flag to enable or disable reverse geocoder.
      */
@@ -2265,6 +2471,24 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             true);
 
+    /**
+     * Size of the queue for asynchronous network data logging. If set, raw messages are formatted and written by a
+     * background thread and records are dropped when the queue is full. Zero value logs synchronously.
+     */
+    public static final ConfigKey<Integer> LOGGER_QUEUE_SIZE = new IntegerConfigKey(
+            "logger.queueSize",
+            List.of(KeyType.CONFIG),
+            0);
+
+    /**
+     * Write only every N-th raw network message of each connection to the log. Live log subscribers in the web app
+     * still receive all messages.
+     */
+    public static final ConfigKey<Integer> LOGGER_SAMPLING = new IntegerConfigKey(
+            "logger.sampling",
+            List.of(KeyType.CONFIG),
+            1);
+
     /**
      * Log file rotation interval. The default rotation interval is once a day.
      * This option is ignored if 'logger.rotate' = false.
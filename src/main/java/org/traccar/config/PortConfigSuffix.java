@@ -569,7 +569,7 @@ public class PortConfigSuffix extends ConfigSuffix<Integer> {
     }
 
     @Override
-    public ConfigKey<Integer> withPrefix(String protocol) {
+    protected ConfigKey<Integer> createKey(String protocol) {
         return new IntegerConfigKey(protocol + keySuffix, types, PORTS.get(protocol));
     }
 }
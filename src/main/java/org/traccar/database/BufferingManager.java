@@ -25,11 +25,14 @@ import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.model.Position;
 
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class BufferingManager {
 
@@ -43,11 +46,14 @@ public class BufferingManager {
 
         private final ChannelHandlerContext context;
         private final Position position;
-        private Timeout timeout;
+        private final long arrival;
+        private final long sequence;
 
-        private Holder(ChannelHandlerContext context, Position position) {
+        private Holder(ChannelHandlerContext context, Position position, long arrival, long sequence) {
             this.context = context;
             this.position = position;
+            this.arrival = arrival;
+            this.sequence = sequence;
         }
 
         private int compareTime(Date left, Date right) {
@@ -69,48 +75,94 @@ public class BufferingManager {
                 return deviceTimeResult;
             }
 
-            return position.getServerTime().compareTo(other.position.getServerTime());
+            int serverTimeResult = position.getServerTime().compareTo(other.position.getServerTime());
+            if (serverTimeResult != 0) {
+                return serverTimeResult;
+            }
+
+            return Long.compare(sequence, other.sequence);
         }
     }
 
+    /**
+     * Reorder buffer of a single device. Positions are released in order and only the head has a pending timer.
+     * The head deadline is the threshold after the latest arrival among the head itself and already released
+     * positions, which matches rescheduling every later position whenever an earlier one arrives.
+     */
+    private static final class DeviceBuffer {
+        private final TreeSet<Holder> holders = new TreeSet<>();
+        private long releasedArrival;
+        private Timeout timeout;
+    }
+
     private final Timer timer = new HashedWheelTimer();
     private final Callback callback;
     private final long threshold;
 
-    private final Map<Long, TreeSet<Holder>> buffer = new HashMap<>();
+    private final Map<Long, DeviceBuffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
 
     public BufferingManager(Config config, Callback callback) {
         this.callback = callback;
         threshold = config.getLong(Keys.SERVER_BUFFERING_THRESHOLD);
     }
 
-    private Timeout scheduleTimeout(Holder holder) {
-        return timer.newTimeout(
-                timeout -> {
-                    LOGGER.debug("released {}", holder.position.getFixTime());
-                    synchronized (buffer) {
-                        buffer.get(holder.position.getDeviceId()).remove(holder);
-                    }
-                    holder.context.executor().execute(() -> {
-                        callback.onReleased(holder.context, holder.position);
-                    });
-                },
-                threshold, TimeUnit.MILLISECONDS);
+    public int getBufferedDevices() {
+        return buffers.size();
+    }
+
+    private long getDeadline(DeviceBuffer deviceBuffer) {
+        return Math.max(deviceBuffer.holders.first().arrival, deviceBuffer.releasedArrival) + threshold;
+    }
+
+    private void scheduleTimeout(long deviceId, DeviceBuffer deviceBuffer, long now) {
+        if (deviceBuffer.timeout != null) {
+            deviceBuffer.timeout.cancel();
+        }
+        long delay = Math.max(getDeadline(deviceBuffer) - now, 0);
+        deviceBuffer.timeout = timer.newTimeout(timeout -> release(deviceId, timeout), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void release(long deviceId, Timeout timeout) {
+        List<Holder> released = new ArrayList<>();
+        buffers.computeIfPresent(deviceId, (key, deviceBuffer) -> {
+            if (deviceBuffer.timeout != timeout) {
+                return deviceBuffer;
+            }
+            deviceBuffer.timeout = null;
+            long now = System.currentTimeMillis();
+            while (!deviceBuffer.holders.isEmpty() && getDeadline(deviceBuffer) <= now) {
+                Holder holder = deviceBuffer.holders.pollFirst();
+                deviceBuffer.releasedArrival = Math.max(deviceBuffer.releasedArrival, holder.arrival);
+                released.add(holder);
+            }
+            if (deviceBuffer.holders.isEmpty()) {
+                return null;
+            }
+            scheduleTimeout(deviceId, deviceBuffer, now);
+            return deviceBuffer;
+        });
+        for (Holder holder : released) {
+            LOGGER.debug("released {}", holder.position.getFixTime());
+            holder.context.executor().execute(() -> callback.onReleased(holder.context, holder.position));
+        }
     }
 
     public void accept(ChannelHandlerContext context, Position position) {
         if (threshold > 0) {
-            synchronized (buffer) {
-                LOGGER.debug("queued {}", position.getFixTime());
-                var queue = buffer.computeIfAbsent(position.getDeviceId(), k -> new TreeSet<>());
-                Holder holder = new Holder(context, position);
-                holder.timeout = scheduleTimeout(holder);
-                queue.add(holder);
-                queue.tailSet(holder, false).forEach(h -> {
-                    h.timeout.cancel();
-                    h.timeout = scheduleTimeout(h);
-                });
-            }
+            LOGGER.debug("queued {}", position.getFixTime());
+            long now = System.currentTimeMillis();
+            Holder holder = new Holder(context, position, now, sequence.incrementAndGet());
+            buffers.compute(position.getDeviceId(), (deviceId, deviceBuffer) -> {
+                if (deviceBuffer == null) {
+                    deviceBuffer = new DeviceBuffer();
+                }
+                deviceBuffer.holders.add(holder);
+                if (deviceBuffer.holders.first() == holder) {
+                    scheduleTimeout(deviceId, deviceBuffer, now);
+                }
+                return deviceBuffer;
+            });
         } else {
             callback.onReleased(context, position);
         }
@@ -22,7 +22,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -34,9 +37,10 @@ import jakarta.inject.Singleton;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 @Singleton
-public class DeviceLookupService {
+public class DeviceLookupService implements CacheManager.InvalidationListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DeviceLookupService.class);
 
@@ -45,6 +49,7 @@ public class DeviceLookupService {
     private static final long THROTTLE_MAX_MS = TimeUnit.MINUTES.toMillis(30);
 
     private final Storage storage;
+    private final CacheManager cacheManager;
     private final Timer timer;
 
     private final boolean throttlingEnabled;
@@ -73,11 +78,89 @@ public class DeviceLookupService {
 
     private final Map<String, IdentifierInfo> identifierMap = new ConcurrentHashMap<>();
 
+    private final Map<String, Long> uniqueIdIndex;
+    private final Map<Long, String> deviceIdIndex;
+
     @Inject
-    public DeviceLookupService(Config config, Storage storage, Timer timer) {
+    public DeviceLookupService(Config config, Storage storage, CacheManager cacheManager, Timer timer) {
         this.storage = storage;
+        this.cacheManager = cacheManager;
         this.timer = timer;
-        throttlingEnabled = config.getBoolean(Keys.DATABASE_THROTTLE_UNKNOWN);
+        boolean indexEnabled = config.getBoolean(Keys.DATABASE_DEVICE_INDEX);
+        throttlingEnabled = indexEnabled || config.getBoolean(Keys.DATABASE_THROTTLE_UNKNOWN);
+        if (indexEnabled) {
+            uniqueIdIndex = new ConcurrentHashMap<>();
+            deviceIdIndex = new ConcurrentHashMap<>();
+            cacheManager.addInvalidationListener(this);
+            loadIndex();
+        } else {
+            uniqueIdIndex = null;
+            deviceIdIndex = null;
+        }
+    }
+
+    private void loadIndex() {
+        try (Stream<Device> devices = storage.getObjectsStream(
+                Device.class, new Request(new Columns.Include("id", "uniqueId")))) {
+            devices.forEach(this::indexDevice);
+            LOGGER.info("Device index loaded with {} devices", deviceIdIndex.size());
+        } catch (StorageException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private synchronized void indexDevice(Device device) {
+        unindexDevice(device.getId());
+        if (device.getUniqueId() != null) {
+            uniqueIdIndex.put(device.getUniqueId(), device.getId());
+            deviceIdIndex.put(device.getId(), device.getUniqueId());
+        }
+    }
+
+    private synchronized void unindexDevice(long deviceId) {
+        String uniqueId = deviceIdIndex.remove(deviceId);
+        if (uniqueId != null) {
+            uniqueIdIndex.remove(uniqueId, deviceId);
+        }
+    }
+
+    @Override
+    public void onInvalidateObject(Class<? extends BaseModel> clazz, long id, ObjectOperation operation) {
+        if (!clazz.equals(Device.class)) {
+            return;
+        }
+        if (operation == ObjectOperation.DELETE) {
+            unindexDevice(id);
+        } else {
+            try {
+                Device device = storage.getObject(Device.class, new Request(
+                        new Columns.Include("id", "uniqueId"), new Condition.Equals("id", id)));
+                if (device != null) {
+                    indexDevice(device);
+                } else {
+                    unindexDevice(id);
+                }
+            } catch (StorageException e) {
+                LOGGER.warn("Device index update error", e);
+            }
+        }
+    }
+
+    private Device lookupIndexed(String[] uniqueIds) throws StorageException {
+        for (String uniqueId : uniqueIds) {
+            Long deviceId = uniqueIdIndex.get(uniqueId);
+            if (deviceId != null) {
+                Device device = cacheManager.getObject(Device.class, deviceId);
+                if (device == null) {
+                    device = storage.getObject(Device.class, new Request(
+                            new Columns.All(), new Condition.Equals("id", deviceId)));
+                }
+                if (device != null) {
+                    return device;
+                }
+            }
+        }
+        return null;
     }
 
     private synchronized boolean isThrottled(String uniqueId) {
@@ -118,12 +201,21 @@ public class DeviceLookupService {
     public Device lookup(String[] uniqueIds) {
         Device device = null;
         try {
+            if (uniqueIdIndex != null) {
+                device = lookupIndexed(uniqueIds);
+                if (device != null) {
+                    return device;
+                }
+            }
             for (String uniqueId : uniqueIds) {
                 if (!isThrottled(uniqueId)) {
                     device = storage.getObject(Device.class, new Request(
                             new Columns.All(), new Condition.Equals("uniqueId", uniqueId)));
                     if (device != null) {
                         lookupSucceeded(uniqueId);
+                        if (uniqueIdIndex != null) {
+                            indexDevice(device);
+                        }
                         break;
                     } else {
                         lookupFailed(uniqueId);
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.model.Position;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
+import org.traccar.storage.query.Request;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes device state columns, such as status, last update, latest position and motion and overspeed state. When
+ * batching is enabled, pending columns of each device are merged in memory and flushed periodically with multi-row
+ * updates. In-memory device state stays authoritative.
+ */
+@Singleton
+public class DeviceStateWriter implements LifecycleObject {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceStateWriter.class);
+
+    private static final String[] STATUS_COLUMNS = {"status", "lastUpdate"};
+
+    private static final long RECOVERY_MARGIN = TimeUnit.MINUTES.toMillis(5);
+
+    private static final class PendingState {
+        private final Device device = new Device();
+        private final Set<String> columns = new TreeSet<>();
+    }
+
+    private final Storage storage;
+    private final long interval;
+
+    private final Map<Long, PendingState> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+
+    private volatile boolean stopped;
+
+    @Inject
+    public DeviceStateWriter(Config config, Storage storage) {
+        this.storage = storage;
+        interval = config.getLong(Keys.DATABASE_DEVICE_STATE_INTERVAL);
+        if (interval > 0) {
+            Thread thread = new Thread(this::run, "DeviceStateWriter");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    public void submit(Device device) {
+        submit(device, STATUS_COLUMNS);
+    }
+
+    /**
+     * Write the given columns of the device. With batching, the values are copied, so later changes to the device
+     * object are only written if they are submitted again. Attributes can also be edited through the API, so they
+     * are never written from a delayed copy. Such submissions are written directly and replace pending values.
+     */
+    public void submit(Device device, String... columns) {
+        boolean direct = interval <= 0 || stopped || Arrays.asList(columns).contains("attributes");
+        if (direct) {
+            if (interval > 0) {
+                pending.computeIfPresent(device.getId(), (id, state) -> {
+                    state.columns.removeAll(Arrays.asList(columns));
+                    return state.columns.isEmpty() ? null : state;
+                });
+            }
+            try {
+                storage.updateObject(device, new Request(
+                        new Columns.Include(columns), new Condition.Equals("id", device.getId())));
+                writtenCount.increment();
+            } catch (StorageException e) {
+                LOGGER.warn("Update device state error", e);
+            }
+        } else {
+            pending.compute(device.getId(), (id, state) -> {
+                if (state == null) {
+                    state = new PendingState();
+                    state.device.setId(id);
+                } else {
+                    coalescedCount.increment();
+                }
+                for (String column : columns) {
+                    copyColumn(device, state.device, column);
+                    state.columns.add(column);
+                }
+                return state;
+            });
+        }
+    }
+
+    private static void copyColumn(Device source, Device target, String column) {
+        switch (column) {
+            case "status" -> target.setStatus(source.getStatus());
+            case "lastUpdate" -> target.setLastUpdate(source.getLastUpdate());
+            case "positionId" -> target.setPositionId(source.getPositionId());
+            case "motionStreak" -> target.setMotionStreak(source.getMotionStreak());
+            case "motionState" -> target.setMotionState(source.getMotionState());
+            case "motionPositionId" -> target.setMotionPositionId(source.getMotionPositionId());
+            case "motionTime" -> target.setMotionTime(source.getMotionTime());
+            case "motionDistance" -> target.setMotionDistance(source.getMotionDistance());
+            case "motionLatitude" -> target.setMotionLatitude(source.getMotionLatitude());
+            case "motionLongitude" -> target.setMotionLongitude(source.getMotionLongitude());
+            case "overspeedState" -> target.setOverspeedState(source.getOverspeedState());
+            case "overspeedTime" -> target.setOverspeedTime(source.getOverspeedTime());
+            case "overspeedGeofenceId" -> target.setOverspeedGeofenceId(source.getOverspeedGeofenceId());
+            default -> throw new IllegalArgumentException("Unsupported device state column " + column);
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(interval);
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Device state writer error", e);
+            }
+        }
+    }
+
+    private synchronized void flush() {
+        Map<Set<String>, List<Device>> groups = new HashMap<>();
+        for (Long deviceId : pending.keySet()) {
+            PendingState state = pending.remove(deviceId);
+            if (state != null) {
+                groups.computeIfAbsent(state.columns, key -> new ArrayList<>()).add(state.device);
+            }
+        }
+        for (var group : groups.entrySet()) {
+            try {
+                storage.updateObjects(group.getValue(), new Columns.Include(group.getKey().toArray(String[]::new)));
+                writtenCount.add(group.getValue().size());
+            } catch (StorageException e) {
+                LOGGER.warn("Update device state error", e);
+                for (Device device : group.getValue()) {
+                    restore(device, group.getKey());
+                }
+            }
+        }
+    }
+
+    private void restore(Device device, Set<String> columns) {
+        pending.compute(device.getId(), (id, state) -> {
+            if (state == null) {
+                state = new PendingState();
+                state.device.setId(id);
+            }
+            for (String column : columns) {
+                if (state.columns.add(column)) {
+                    copyColumn(device, state.device, column);
+                }
+            }
+            return state;
+        });
+    }
+
+    /**
+     * Point devices to recently stored positions if their fix time is not older than the current device position.
+     * Recovers position references that were pending when the server stopped without a final flush. Parallel writer
+     * lanes can store positions with lower ids after the newest referenced one, so the scan starts after the newest
+     * referenced position received well before the last possible flush, which keeps it on a short primary key range.
+     */
+    private void recoverPositions() throws StorageException {
+        Map<Long, Position> latest = new HashMap<>();
+        long lastServerTime = 0;
+        for (Position position : storage.getObjects(Position.class, new Request(
+                new Columns.Include("id", "deviceId", "fixTime", "serverTime"), new Condition.LatestPositions()))) {
+            latest.put(position.getDeviceId(), position);
+            lastServerTime = Math.max(lastServerTime, position.getServerTime().getTime());
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        long threshold = lastServerTime - interval - RECOVERY_MARGIN;
+        long firstPositionId = Long.MAX_VALUE;
+        long startPositionId = 0;
+        for (Position position : latest.values()) {
+            firstPositionId = Math.min(firstPositionId, position.getId());
+            if (position.getServerTime().getTime() < threshold) {
+                startPositionId = Math.max(startPositionId, position.getId());
+            }
+        }
+        if (startPositionId == 0) {
+            startPositionId = firstPositionId;
+        }
+
+        Map<Long, Position> recovered = new HashMap<>();
+        try (var positions = storage.getObjectsStream(Position.class, new Request(
+                new Columns.Include("id", "deviceId", "fixTime"),
+                new Condition.Compare("id", ">", startPositionId),
+                new Order("id")))) {
+            positions.forEach(position -> {
+                Position current = recovered.getOrDefault(position.getDeviceId(), latest.get(position.getDeviceId()));
+                if (current == null || position.getFixTime().after(current.getFixTime())
+                        || position.getFixTime().equals(current.getFixTime()) && position.getId() > current.getId()) {
+                    recovered.put(position.getDeviceId(), position);
+                }
+            });
+        }
+
+        if (!recovered.isEmpty()) {
+            List<Device> devices = new ArrayList<>();
+            for (Position position : recovered.values()) {
+                Device device = new Device();
+                device.setId(position.getDeviceId());
+                device.setPositionId(position.getId());
+                devices.add(device);
+            }
+            storage.updateObjects(devices, new Columns.Include("positionId"));
+            LOGGER.info("Recovered latest position for {} devices", devices.size());
+        }
+    }
+
+    @Override
+    public void start() throws StorageException {
+        if (interval > 0) {
+            recoverPositions();
+        }
+    }
+
+    /**
+     * Flush pending state and switch to direct writes for anything submitted during shutdown.
+     */
+    @Override
+    public void stop() {
+        stopped = true;
+        flush();
+    }
+
+    public int getQueueSize() {
+        return pending.size();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.sum();
+    }
+
+}
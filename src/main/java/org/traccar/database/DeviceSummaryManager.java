@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.model.PositionUtil;
+import org.traccar.model.DeviceSummary;
+import org.traccar.model.Position;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
+import org.traccar.storage.query.Request;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains daily per-device summaries. A summary references the first and the last position of a UTC day, so report
+ * values derived from edge positions (distance, odometer, fuel, engine hours) stay identical to a raw scan.
+ */
+@Singleton
+public class DeviceSummaryManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceSummaryManager.class);
+
+    public static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+
+    private static final class DayState {
+        private final long day;
+        private final boolean complete;
+        private long startPositionId;
+        private long startTime;
+        private long endPositionId;
+        private long endTime;
+        private double maxSpeed;
+        private int positions;
+
+        private DayState(long day, boolean complete) {
+            this.day = day;
+            this.complete = complete;
+        }
+
+        private void add(Position position) {
+            long time = position.getFixTime().getTime();
+            if (positions == 0 || time < startTime) {
+                startPositionId = position.getId();
+                startTime = time;
+            }
+            if (positions == 0 || time >= endTime) {
+                endPositionId = position.getId();
+                endTime = time;
+            }
+            maxSpeed = Math.max(maxSpeed, position.getSpeed());
+            positions += 1;
+        }
+    }
+
+    private final Storage storage;
+    private final boolean enabled;
+
+    private record DeviceDay(long deviceId, long day) {}
+
+    private final Map<Long, DayState> states = new ConcurrentHashMap<>();
+    private final Map<DeviceDay, DayState> closedDays = new ConcurrentHashMap<>();
+    private final Set<DeviceDay> lateDays = ConcurrentHashMap.newKeySet();
+
+    @Inject
+    public DeviceSummaryManager(Config config, Storage storage) {
+        this.storage = storage;
+        enabled = config.getBoolean(Keys.REPORT_SUMMARY_ROLLUP);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static long getDay(long time) {
+        return Math.floorDiv(time, DAY_MS) * DAY_MS;
+    }
+
+    /**
+     * Updates in-memory day state only. Closed days and days receiving late positions are recorded and written by
+     * {@link #flush()} from the scheduler, so the position writer threads never issue summary statements.
+     */
+    public void updatePosition(Position position) {
+        if (!enabled || position.getId() == 0) {
+            return;
+        }
+        long day = getDay(position.getFixTime().getTime());
+        states.compute(position.getDeviceId(), (deviceId, state) -> {
+            if (state == null) {
+                // first day seen after startup may have earlier positions
+                state = new DayState(day, false);
+            } else if (day > state.day) {
+                if (state.complete) {
+                    closedDays.put(new DeviceDay(deviceId, state.day), state);
+                }
+                state = new DayState(day, true);
+            } else if (day < state.day) {
+                lateDays.add(new DeviceDay(deviceId, day));
+                return state;
+            }
+            state.add(position);
+            return state;
+        });
+    }
+
+    /**
+     * Writes closed days and rebuilds days that received late positions. Each day is written once per flush however
+     * many late positions it received.
+     */
+    public void flush() {
+        for (var iterator = closedDays.entrySet().iterator(); iterator.hasNext();) {
+            var entry = iterator.next();
+            iterator.remove();
+            if (!lateDays.contains(entry.getKey())) {
+                writeSummary(entry.getKey().deviceId(), entry.getValue());
+            }
+        }
+        for (var iterator = lateDays.iterator(); iterator.hasNext();) {
+            DeviceDay deviceDay = iterator.next();
+            iterator.remove();
+            try {
+                rebuild(deviceDay.deviceId(), deviceDay.day());
+            } catch (StorageException e) {
+                LOGGER.warn("Device summary rebuild error", e);
+            }
+        }
+    }
+
+    private void writeSummary(long deviceId, DayState state) {
+        DeviceSummary summary = new DeviceSummary();
+        summary.setDeviceId(deviceId);
+        summary.setPeriodStart(new Date(state.day));
+        summary.setStartPositionId(state.startPositionId);
+        summary.setEndPositionId(state.endPositionId);
+        summary.setMaxSpeed(state.maxSpeed);
+        summary.setPositions(state.positions);
+        try {
+            removeSummary(deviceId, state.day);
+            storage.addObject(summary, new Request(new Columns.Exclude("id")));
+        } catch (StorageException e) {
+            LOGGER.warn("Device summary write error", e);
+        }
+    }
+
+    private void removeSummary(long deviceId, long day) throws StorageException {
+        storage.removeObject(DeviceSummary.class, new Request(new Condition.And(
+                new Condition.Equals("deviceId", deviceId),
+                new Condition.Equals("periodStart", new Date(day)))));
+    }
+
+    /**
+     * Recalculates the summary of the given UTC day from stored positions.
+     */
+    public void rebuild(long deviceId, long day) throws StorageException {
+        DayState state = new DayState(day, true);
+        try (var positions = PositionUtil.getPositionsStream(
+                storage, deviceId, new Date(day), new Date(day + DAY_MS - 1), 0)) {
+            positions.forEach(state::add);
+        }
+        writeSummary(deviceId, state);
+    }
+
+    /**
+     * Returns stored summaries for the days in the given range, keyed by day start time. Days with late positions
+     * that are not rebuilt yet are left out, so callers scan raw positions for them.
+     */
+    public Map<Long, DeviceSummary> getSummaries(long deviceId, long fromDay, long toDay) throws StorageException {
+        Map<Long, DeviceSummary> result = new HashMap<>();
+        var summaries = storage.getObjects(DeviceSummary.class, new Request(
+                new Columns.All(),
+                new Condition.And(
+                        new Condition.Equals("deviceId", deviceId),
+                        new Condition.Between("periodStart", new Date(fromDay), new Date(toDay))),
+                new Order("periodStart")));
+        for (DeviceSummary summary : summaries) {
+            long day = summary.getPeriodStart().getTime();
+            if (!lateDays.contains(new DeviceDay(deviceId, day))) {
+                result.put(day, summary);
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Minimal in-process metrics registry rendered in Prometheus text exposition format. When metrics are disabled all
+ * instruments are shared no-op instances, so call sites do not need to check the configuration.
+ */
+@Singleton
+public class MetricsRegistry {
+
+    private static final double[] BUCKETS = {
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private static final Counter NOOP_COUNTER = new Counter();
+    private static final Histogram NOOP_HISTOGRAM = new Histogram();
+
+    public static class Counter {
+
+        private final LongAdder value = new LongAdder();
+
+        public void increment() {
+            if (this != NOOP_COUNTER) {
+                value.increment();
+            }
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+    }
+
+    public static class Histogram {
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS.length];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void observe(long nanos) {
+            if (this == NOOP_HISTOGRAM) {
+                return;
+            }
+            double seconds = nanos / 1e9;
+            for (int i = 0; i < BUCKETS.length; i++) {
+                if (seconds <= BUCKETS[i]) {
+                    buckets[i].increment();
+                    break;
+                }
+            }
+            count.increment();
+            sum.add(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+    }
+
+    private enum Type {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+
+    private static final class Family {
+
+        private final Type type;
+        private final String help;
+        private final Map<String, Object> series = new ConcurrentSkipListMap<>();
+
+        private Family(Type type, String help) {
+            this.type = type;
+            this.help = help;
+        }
+
+    }
+
+    private final boolean enabled;
+    private final Map<String, Family> families = new ConcurrentHashMap<>();
+
+    @Inject
+    public MetricsRegistry(Config config) {
+        enabled = config.getBoolean(Keys.METRICS_ENABLE);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private Family getFamily(String name, Type type, String help) {
+        Family family = families.computeIfAbsent(name, key -> new Family(type, help));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " already registered as " + family.type);
+        }
+        return family;
+    }
+
+    /**
+     * Returns a counter for the given name and label pairs, creating it on first use.
+     */
+    public Counter counter(String name, String help, String... labels) {
+        if (!enabled) {
+            return NOOP_COUNTER;
+        }
+        return (Counter) getFamily(name, Type.COUNTER, help).series
+                .computeIfAbsent(formatLabels(labels), key -> new Counter());
+    }
+
+    /**
+     * Returns a latency histogram for the given name and label pairs, creating it on first use.
+     */
+    public Histogram histogram(String name, String help, String... labels) {
+        if (!enabled) {
+            return NOOP_HISTOGRAM;
+        }
+        return (Histogram) getFamily(name, Type.HISTOGRAM, help).series
+                .computeIfAbsent(formatLabels(labels), key -> new Histogram());
+    }
+
+    /**
+     * Registers a gauge sampled when metrics are written. Registering the same series again replaces the supplier.
+     */
+    public void gauge(String name, String help, Supplier<Number> supplier, String... labels) {
+        if (enabled) {
+            getFamily(name, Type.GAUGE, help).series.put(formatLabels(labels), supplier);
+        }
+    }
+
+    private static String formatLabels(String... labels) {
+        if (labels.length == 0) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder("{");
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (i > 0) {
+                result.append(',');
+            }
+            result.append(labels[i]).append("=\"");
+            String value = labels[i + 1] != null ? labels[i + 1] : "";
+            for (char c : value.toCharArray()) {
+                switch (c) {
+                    case '\\' -> result.append("\\\\");
+                    case '"' -> result.append("\\\"");
+                    case '\n' -> result.append("\\n");
+                    default -> result.append(c);
+                }
+            }
+            result.append('"');
+        }
+        return result.append('}').toString();
+    }
+
+    private static String appendLabel(String labels, String name, String value) {
+        String label = name + "=\"" + value + "\"";
+        return labels.isEmpty() ? "{" + label + "}" : labels.substring(0, labels.length() - 1) + "," + label + "}";
+    }
+
+    private static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Writes all metrics in Prometheus text exposition format version 0.0.4.
+     */
+    @SuppressWarnings("unchecked")
+    public void write(Writer writer) throws IOException {
+        List<String> names = new ArrayList<>(families.keySet());
+        names.sort(null);
+        for (String name : names) {
+            Family family = families.get(name);
+            writer.write("# HELP " + name + " " + family.help + "\n");
+            writer.write("# TYPE " + name + " " + family.type.name().toLowerCase() + "\n");
+            for (var entry : family.series.entrySet()) {
+                String labels = entry.getKey();
+                switch (family.type) {
+                    case COUNTER -> writer.write(name + labels + " " + ((Counter) entry.getValue()).get() + "\n");
+                    case GAUGE -> {
+                        Number value;
+                        try {
+                            value = ((Supplier<Number>) entry.getValue()).get();
+                        } catch (RuntimeException e) {
+                            continue;
+                        }
+                        if (value != null) {
+                            writer.write(name + labels + " " + formatValue(value.doubleValue()) + "\n");
+                        }
+                    }
+                    case HISTOGRAM -> {
+                        Histogram histogram = (Histogram) entry.getValue();
+                        long count = histogram.count.sum();
+                        long cumulative = 0;
+                        for (int i = 0; i < BUCKETS.length; i++) {
+                            cumulative += histogram.buckets[i].sum();
+                            writer.write(name + "_bucket" + appendLabel(labels, "le", formatValue(BUCKETS[i]))
+                                    + " " + Math.min(cumulative, count) + "\n");
+                        }
+                        writer.write(name + "_bucket" + appendLabel(labels, "le", "+Inf") + " " + count + "\n");
+                        writer.write(name + "_sum" + labels + " "
+                                + histogram.sum.sum() / (double) TimeUnit.SECONDS.toNanos(1) + "\n");
+                        writer.write(name + "_count" + labels + " " + count + "\n");
+                    }
+                }
+            }
+        }
+    }
+
+}
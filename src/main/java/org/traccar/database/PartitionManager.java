@@ -0,0 +1,503 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.database;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Event;
+import org.traccar.model.Position;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains time range partitions of positions and events and applies the retention period. Partitions are named
+ * after their range, for example {@code tc_positions_p20261012_20261019} on PostgreSQL and {@code p20261012_20261019}
+ * on MySQL, so no bound expressions have to be parsed. Rows that existed before the conversion are kept in a legacy
+ * partition that ends at the first regular partition.
+ */
+@Singleton
+public class PartitionManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionManager.class);
+
+    private static final int PERIODS_AHEAD = 2;
+
+    private static final Pattern PARTITION_PATTERN = Pattern.compile("(?:p(\\d{8})|legacy)_(\\d{8})$");
+
+    private record Table(String name, String column, Class<?> clazz, String property) {
+    }
+
+    record Partition(String name, LocalDate start, LocalDate end) {
+    }
+
+    private static final List<Table> TABLES = List.of(
+            new Table("tc_positions", "fixtime", Position.class, "fixTime"),
+            new Table("tc_events", "eventtime", Event.class, "eventTime"));
+
+    private final DataSource dataSource;
+    private final Storage storage;
+    private final boolean partition;
+    private final boolean convert;
+    private final int days;
+    private final int retentionDays;
+
+    @Inject
+    public PartitionManager(Config config, DataSource dataSource, Storage storage) {
+        this.dataSource = dataSource;
+        this.storage = storage;
+        partition = config.getBoolean(Keys.DATABASE_PARTITION);
+        convert = config.getBoolean(Keys.DATABASE_PARTITION_CONVERT);
+        days = Math.max(config.getInteger(Keys.DATABASE_PARTITION_DAYS), 1);
+        retentionDays = config.getInteger(Keys.DATABASE_RETENTION_DAYS);
+    }
+
+    public boolean isEnabled() {
+        return partition || retentionDays > 0;
+    }
+
+    private LocalDate getPeriodStart(LocalDate date) {
+        return LocalDate.ofEpochDay(Math.floorDiv(date.toEpochDay(), days) * days);
+    }
+
+    private static String formatName(LocalDate date) {
+        return date.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    static String formatPartition(String prefix, LocalDate start, LocalDate end) {
+        return prefix + "p" + formatName(start) + "_" + formatName(end);
+    }
+
+    private static String formatValue(LocalDate date) {
+        return "'" + date + " 00:00:00'";
+    }
+
+    static Partition parsePartition(String name) {
+        Matcher matcher = PARTITION_PATTERN.matcher(name);
+        if (matcher.find()) {
+            LocalDate start = matcher.group(1) != null
+                    ? LocalDate.parse(matcher.group(1), DateTimeFormatter.BASIC_ISO_DATE) : null;
+            return new Partition(name, start, LocalDate.parse(matcher.group(2), DateTimeFormatter.BASIC_ISO_DATE));
+        }
+        return new Partition(name, null, null);
+    }
+
+    public void maintain() throws SQLException, StorageException {
+        LocalDate today = LocalDate.now();
+        LocalDate cutoff = retentionDays > 0 ? today.minusDays(retentionDays) : null;
+        try (Connection connection = dataSource.getConnection()) {
+            String databaseType = connection.getMetaData().getDatabaseProductName();
+            for (Table table : TABLES) {
+                boolean maintained = switch (databaseType) {
+                    case "PostgreSQL" -> maintainPostgresql(connection, table, today, cutoff);
+                    case "MySQL", "MariaDB" -> maintainMysql(connection, table, today, cutoff);
+                    default -> false;
+                };
+                if (!maintained && cutoff != null) {
+                    Date time = Date.from(cutoff.atStartOfDay(ZoneId.systemDefault()).toInstant());
+                    storage.removeObject(table.clazz(), new Request(
+                            new Condition.Compare(table.property(), "<", time)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the latest time with one lookup per device on the device and time index instead of scanning the table.
+     */
+    private LocalDate getLegacyEnd(Statement statement, Table table, LocalDate today) throws SQLException {
+        LocalDate latest = today;
+        try (ResultSet resultSet = statement.executeQuery(
+                "SELECT MAX(latest) FROM (SELECT (SELECT MAX(t." + table.column() + ") FROM " + table.name() + " t"
+                + " WHERE t.deviceid = d.id) AS latest FROM tc_devices d) AS m")) {
+            if (resultSet.next()) {
+                Timestamp time = resultSet.getTimestamp(1);
+                if (time != null && time.toLocalDateTime().toLocalDate().isAfter(latest)) {
+                    latest = time.toLocalDateTime().toLocalDate();
+                }
+            }
+        }
+        return getPeriodStart(latest).plusDays(days);
+    }
+
+    private LocalDate getLastEnd(List<Partition> partitions) {
+        LocalDate lastEnd = null;
+        for (Partition partition : partitions) {
+            if (partition.end() != null && (lastEnd == null || partition.end().isAfter(lastEnd))) {
+                lastEnd = partition.end();
+            }
+        }
+        return lastEnd;
+    }
+
+    static List<Partition> getExpired(List<Partition> partitions, LocalDate cutoff) {
+        List<Partition> result = new ArrayList<>();
+        if (cutoff != null) {
+            for (Partition partition : partitions) {
+                if (partition.end() != null && !partition.end().isAfter(cutoff)) {
+                    result.add(partition);
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean maintainPostgresql(
+            Connection connection, Table table, LocalDate today, LocalDate cutoff) throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            if (isHypertable(statement, table)) {
+                if (cutoff != null) {
+                    try (PreparedStatement dropChunks = connection.prepareStatement(
+                            "SELECT drop_chunks(CAST(? AS regclass), older_than => CAST(? AS timestamp))")) {
+                        dropChunks.setString(1, table.name());
+                        dropChunks.setTimestamp(2, Timestamp.valueOf(cutoff.atStartOfDay()));
+                        dropChunks.execute();
+                    }
+                }
+                return true;
+            }
+
+            boolean partitioned;
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT relkind FROM pg_class WHERE oid = '" + table.name() + "'::regclass")) {
+                partitioned = resultSet.next() && "p".equals(resultSet.getString(1));
+            }
+            if (!partitioned) {
+                if (!isConversionAllowed(table)) {
+                    dropLegacyRange(connection, table);
+                    return false;
+                }
+                convertPostgresql(connection, table, today);
+            }
+
+            List<Partition> partitions = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                    + " WHERE i.inhparent = '" + table.name() + "'::regclass")) {
+                while (resultSet.next()) {
+                    partitions.add(parsePartition(resultSet.getString(1)));
+                }
+            }
+
+            LocalDate target = getPeriodStart(today).plusDays((long) days * PERIODS_AHEAD);
+            LocalDate start = getLastEnd(partitions);
+            while (start != null && start.isBefore(target)) {
+                LocalDate end = getPeriodStart(start).plusDays(days);
+                String name = formatPartition(table.name() + "_", start, end);
+                try {
+                    statement.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + table.name()
+                            + " FOR VALUES FROM (" + formatValue(start) + ") TO (" + formatValue(end) + ")");
+                } catch (SQLException e) {
+                    LOGGER.warn("Failed to create partition {}", name, e);
+                    break;
+                }
+                start = end;
+            }
+
+            for (Partition partition : getExpired(partitions, cutoff)) {
+                statement.execute("DROP TABLE " + partition.name());
+                LOGGER.info("Dropped partition {}", partition.name());
+            }
+        }
+        return true;
+    }
+
+    private boolean isConversionAllowed(Table table) {
+        if (partition && !convert) {
+            LOGGER.warn("Table {} is not partitioned, enable database.partitionConvert to convert it", table.name());
+        }
+        return partition && convert;
+    }
+
+    private boolean isHypertable(Statement statement, Table table) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(
+                "SELECT COUNT(*) FROM pg_extension WHERE extname = 'timescaledb'")) {
+            if (!resultSet.next() || resultSet.getInt(1) == 0) {
+                return false;
+            }
+        }
+        try (ResultSet resultSet = statement.executeQuery(
+                "SELECT COUNT(*) FROM timescaledb_information.hypertables"
+                + " WHERE hypertable_name = '" + table.name() + "'")) {
+            return resultSet.next() && resultSet.getInt(1) > 0;
+        }
+    }
+
+    /**
+     * Prepares everything that needs a full table pass without blocking writes: the unique index required by the
+     * partitioned primary key and a validated range constraint, so the attach step under the exclusive lock neither
+     * builds an index nor scans the table.
+     */
+    private LocalDate preparePostgresql(Connection connection, Table table, LocalDate today) throws SQLException {
+        String name = table.name();
+        String constraint = name + "_legacy_range";
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            LocalDate legacyEnd = getLegacyEnd(statement, table, today);
+            LOGGER.info("Preparing {} for partitioning", name);
+            statement.execute("CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS " + name + "_partition_key"
+                    + " ON " + name + " (id, " + table.column() + ")");
+            statement.execute("ALTER TABLE " + name + " DROP CONSTRAINT IF EXISTS " + constraint);
+            statement.execute("ALTER TABLE " + name + " ADD CONSTRAINT " + constraint
+                    + " CHECK (" + table.column() + " IS NOT NULL AND " + table.column()
+                    + " < " + formatValue(legacyEnd) + ") NOT VALID");
+            statement.execute("ALTER TABLE " + name + " VALIDATE CONSTRAINT " + constraint);
+            return legacyEnd;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Removes the range constraint left on a table that was prepared but not converted, so inserts after its end
+     * keep working. The catalog is checked first to avoid taking the table lock on every maintenance run.
+     */
+    private void dropLegacyRange(Connection connection, Table table) {
+        String constraint = table.name() + "_legacy_range";
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                boolean exists;
+                try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM pg_constraint"
+                        + " WHERE conrelid = '" + table.name() + "'::regclass AND conname = '" + constraint + "'")) {
+                    exists = resultSet.next() && resultSet.getInt(1) > 0;
+                }
+                if (exists) {
+                    statement.execute("ALTER TABLE " + table.name() + " DROP CONSTRAINT " + constraint);
+                    LOGGER.info("Dropped range constraint of {}", table.name());
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Failed to drop range constraint of {}", table.name(), e);
+        }
+    }
+
+    private void convertPostgresql(Connection connection, Table table, LocalDate today) throws SQLException {
+        try {
+            attachPostgresql(connection, table, preparePostgresql(connection, table, today));
+        } catch (SQLException e) {
+            dropLegacyRange(connection, table);
+            throw e;
+        }
+    }
+
+    private void attachPostgresql(Connection connection, Table table, LocalDate legacyEnd) throws SQLException {
+        String name = table.name();
+        String sequence = name + "_partition_id_seq";
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            LOGGER.info("Converting {} into a partitioned table", name);
+            statement.execute("LOCK TABLE " + name + " IN ACCESS EXCLUSIVE MODE");
+
+            List<String> indexNames = new ArrayList<>();
+            List<String> indexDefinitions = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT i.relname, pg_get_indexdef(i.oid), x.indisunique FROM pg_index x"
+                    + " JOIN pg_class i ON i.oid = x.indexrelid WHERE x.indrelid = '" + name + "'::regclass")) {
+                while (resultSet.next()) {
+                    indexNames.add(resultSet.getString(1));
+                    if (!resultSet.getBoolean(3)) {
+                        indexDefinitions.add(resultSet.getString(2));
+                    }
+                }
+            }
+            List<String> foreignKeys = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT conname, pg_get_constraintdef(oid) FROM pg_constraint"
+                    + " WHERE conrelid = '" + name + "'::regclass AND contype = 'f'")) {
+                while (resultSet.next()) {
+                    foreignKeys.add("ADD CONSTRAINT " + resultSet.getString(1) + " " + resultSet.getString(2));
+                }
+            }
+            long maxId;
+            try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + name)) {
+                resultSet.next();
+                maxId = resultSet.getLong(1);
+            }
+            String legacy = name + "_legacy_" + formatName(legacyEnd);
+
+            statement.execute("ALTER TABLE " + name + " RENAME TO " + legacy);
+            for (String indexName : indexNames) {
+                statement.execute("ALTER INDEX " + indexName + " RENAME TO " + indexName + "_legacy");
+            }
+            statement.execute("ALTER TABLE " + legacy + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+            statement.execute("ALTER TABLE " + legacy + " ALTER COLUMN id DROP DEFAULT");
+
+            statement.execute("CREATE TABLE " + name + " (LIKE " + legacy + " INCLUDING DEFAULTS)"
+                    + " PARTITION BY RANGE (" + table.column() + ")");
+            statement.execute("CREATE SEQUENCE " + sequence + " START WITH " + (maxId + 1));
+            statement.execute("ALTER TABLE " + name + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+            statement.execute("ALTER SEQUENCE " + sequence + " OWNED BY " + name + ".id");
+            statement.execute("ALTER TABLE " + name + " ADD PRIMARY KEY (id, " + table.column() + ")");
+            for (String indexDefinition : indexDefinitions) {
+                statement.execute(indexDefinition);
+            }
+            // LIKE does not copy foreign keys, the matching ones of the legacy table are merged on attach
+            for (String foreignKey : foreignKeys) {
+                statement.execute("ALTER TABLE " + name + " " + foreignKey);
+            }
+
+            statement.execute("ALTER TABLE " + name + " ATTACH PARTITION " + legacy
+                    + " FOR VALUES FROM (MINVALUE) TO (" + formatValue(legacyEnd) + ")");
+            statement.execute("CREATE TABLE " + name + "_default PARTITION OF " + name + " DEFAULT");
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private boolean maintainMysql(
+            Connection connection, Table table, LocalDate today, LocalDate cutoff) throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            List<Partition> partitions = new ArrayList<>();
+            String method = getMysqlPartitions(connection, table, partitions);
+            if (partitions.isEmpty()) {
+                if (!isConversionAllowed(table) || hasMysqlForeignKeys(connection, table)) {
+                    return false;
+                }
+                convertMysql(connection, statement, table, today);
+                method = getMysqlPartitions(connection, table, partitions);
+            }
+            boolean columns = "RANGE COLUMNS".equals(method);
+
+            LocalDate target = getPeriodStart(today).plusDays((long) days * PERIODS_AHEAD);
+            LocalDate start = getLastEnd(partitions);
+            while (start != null && start.isBefore(target)) {
+                LocalDate end = getPeriodStart(start).plusDays(days);
+                String bound = columns ? formatValue(end) : "UNIX_TIMESTAMP(" + formatValue(end) + ")";
+                String name = formatPartition("", start, end);
+                try {
+                    statement.execute("ALTER TABLE " + table.name() + " REORGANIZE PARTITION p_future INTO ("
+                            + "PARTITION " + name + " VALUES LESS THAN (" + bound + "), "
+                            + "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+                } catch (SQLException e) {
+                    LOGGER.warn("Failed to create partition {}", name, e);
+                    break;
+                }
+                start = end;
+            }
+
+            for (Partition partition : getExpired(partitions, cutoff)) {
+                statement.execute("ALTER TABLE " + table.name() + " DROP PARTITION " + partition.name());
+                LOGGER.info("Dropped partition {} of {}", partition.name(), table.name());
+            }
+        }
+        return true;
+    }
+
+    private String getMysqlPartitions(
+            Connection connection, Table table, List<Partition> partitions) throws SQLException {
+        String method = null;
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT PARTITION_NAME, PARTITION_METHOD FROM information_schema.PARTITIONS"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL")) {
+            query.setString(1, table.name());
+            try (ResultSet resultSet = query.executeQuery()) {
+                while (resultSet.next()) {
+                    partitions.add(parsePartition(resultSet.getString(1)));
+                    method = resultSet.getString(2);
+                }
+            }
+        }
+        return method;
+    }
+
+    /**
+     * InnoDB does not support partitioning tables with foreign keys, so such tables are left as they are.
+     */
+    private boolean hasMysqlForeignKeys(Connection connection, Table table) throws SQLException {
+        List<String> foreignKeys = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS"
+                + " WHERE CONSTRAINT_SCHEMA = DATABASE() AND (TABLE_NAME = ? OR REFERENCED_TABLE_NAME = ?)")) {
+            query.setString(1, table.name());
+            query.setString(2, table.name());
+            try (ResultSet resultSet = query.executeQuery()) {
+                while (resultSet.next()) {
+                    foreignKeys.add(resultSet.getString(1));
+                }
+            }
+        }
+        if (!foreignKeys.isEmpty()) {
+            LOGGER.warn("Table {} can not be partitioned because of foreign keys {},"
+                    + " drop them to convert it (deleting a device then no longer removes its rows)",
+                    table.name(), foreignKeys);
+            return true;
+        }
+        return false;
+    }
+
+    private void convertMysql(
+            Connection connection, Statement statement, Table table, LocalDate today) throws SQLException {
+
+        String type = null;
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT DATA_TYPE FROM information_schema.COLUMNS"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?")) {
+            query.setString(1, table.name());
+            query.setString(2, table.column());
+            try (ResultSet resultSet = query.executeQuery()) {
+                if (resultSet.next()) {
+                    type = resultSet.getString(1);
+                }
+            }
+        }
+        // RANGE COLUMNS does not support TIMESTAMP columns
+        boolean columns = !"timestamp".equalsIgnoreCase(type);
+        LocalDate legacyEnd = getLegacyEnd(statement, table, today);
+        String bound = columns ? formatValue(legacyEnd) : "UNIX_TIMESTAMP(" + formatValue(legacyEnd) + ")";
+
+        LOGGER.info("Converting {} into a partitioned table", table.name());
+        statement.execute("ALTER TABLE " + table.name()
+                + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, " + table.column() + ")"
+                + " PARTITION BY RANGE " + (columns
+                        ? "COLUMNS (" + table.column() + ")" : "(UNIX_TIMESTAMP(" + table.column() + "))")
+                + " (PARTITION p_legacy_" + formatName(legacyEnd) + " VALUES LESS THAN (" + bound + "),"
+                + " PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+    }
+
+}
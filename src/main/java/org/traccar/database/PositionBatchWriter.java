@@ -17,8 +17,11 @@ package org.traccar.database;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.helper.WindowedMaximum;
 import org.traccar.model.Position;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
@@ -26,65 +29,139 @@ import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Request;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 @Singleton
 public class PositionBatchWriter {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(PositionBatchWriter.class);
+
     private static final Request INSERT_REQUEST = new Request(new Columns.Exclude("id"));
 
-    private record Entry(Position position, CompletableFuture<Long> future) {}
+    private static final int[] BATCH_BUCKETS = {1, 10, 50, 100, 500, 1000};
+
+    private record Entry(Position position, CompletableFuture<Long> future, long time) {}
 
     private final Storage storage;
-    private final ConcurrentLinkedQueue<Entry> queue;
     private final int batchSize;
+    private final long interval;
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final List<BlockingQueue<Entry>> lanes = new ArrayList<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Queue<Runnable> resumeListeners = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder[] batchSizes = new LongAdder[BATCH_BUCKETS.length + 1];
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushTime = new LongAdder();
+    private final WindowedMaximum flushTimeMax = new WindowedMaximum(TimeUnit.MINUTES.toNanos(1));
 
     @Inject
     public PositionBatchWriter(Config config, Storage storage) {
         this.storage = storage;
-        this.batchSize = config.getInteger(Keys.DATABASE_POSITION_BATCH_SIZE);
-        long interval = config.getLong(Keys.DATABASE_POSITION_BATCH_INTERVAL);
+        batchSize = config.getInteger(Keys.DATABASE_POSITION_BATCH_SIZE);
+        interval = config.getLong(Keys.DATABASE_POSITION_BATCH_INTERVAL);
+        highWatermark = config.getInteger(Keys.DATABASE_POSITION_BATCH_QUEUE_SIZE);
+        lowWatermark = highWatermark / 2;
+        for (int i = 0; i < batchSizes.length; i++) {
+            batchSizes[i] = new LongAdder();
+        }
         if (interval > 0) {
-            queue = new ConcurrentLinkedQueue<>();
-            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
-                Thread thread = new Thread(runnable, "PositionBatchWriter");
+            int writers = Math.max(config.getInteger(Keys.DATABASE_POSITION_BATCH_WRITERS), 1);
+            for (int i = 0; i < writers; i++) {
+                BlockingQueue<Entry> lane = new LinkedBlockingQueue<>();
+                lanes.add(lane);
+                Thread thread = new Thread(() -> runLane(lane), "PositionBatchWriter-" + i);
                 thread.setDaemon(true);
-                return thread;
-            });
-            scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
-        } else {
-            queue = null;
+                thread.start();
+            }
         }
     }
 
     public CompletableFuture<Long> submit(Position position) {
         CompletableFuture<Long> future = new CompletableFuture<>();
-        if (queue == null) {
+        if (lanes.isEmpty()) {
             try {
                 future.complete(storage.addObject(position, INSERT_REQUEST));
             } catch (StorageException error) {
                 future.completeExceptionally(error);
             }
         } else {
-            queue.offer(new Entry(position, future));
+            pending.incrementAndGet();
+            int lane = Math.floorMod(Long.hashCode(position.getDeviceId()), lanes.size());
+            lanes.get(lane).offer(new Entry(position, future, System.nanoTime()));
         }
         return future;
     }
 
-    private void flush() {
-        List<Entry> batch = new ArrayList<>(batchSize);
-        Entry entry;
-        while (batch.size() < batchSize && (entry = queue.poll()) != null) {
-            batch.add(entry);
+    /**
+     * Returns true when pending positions reached the configured queue size and producers should pause.
+     */
+    public boolean isOverloaded() {
+        return highWatermark > 0 && pending.get() >= highWatermark;
+    }
+
+    /**
+     * Runs the listener once the queue drains to the low watermark, or immediately if it already has.
+     */
+    public void whenResumed(Runnable listener) {
+        resumeListeners.offer(listener);
+        if (pending.get() <= lowWatermark) {
+            notifyResumed();
         }
-        if (batch.isEmpty()) {
-            return;
+    }
+
+    private void notifyResumed() {
+        Runnable listener;
+        while ((listener = resumeListeners.poll()) != null) {
+            listener.run();
+        }
+    }
+
+    private void runLane(BlockingQueue<Entry> lane) {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(interval);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Entry first = lane.take();
+                batch.add(first);
+                long deadline = first.time() + intervalNanos;
+                while (batch.size() < batchSize) {
+                    lane.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = lane.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Position batch writer error", e);
+            } finally {
+                batch.clear();
+            }
         }
+    }
+
+    private void flush(List<Entry> batch) {
+        long start = System.nanoTime();
         try {
             List<Position> positions = batch.stream().map(Entry::position).toList();
             List<Long> ids = storage.addObjects(positions, INSERT_REQUEST);
@@ -93,7 +170,60 @@ public class PositionBatchWriter {
             }
         } catch (Exception error) {
             batch.forEach(e -> e.future().completeExceptionally(error));
+        } finally {
+            long duration = System.nanoTime() - start;
+            flushCount.increment();
+            flushTime.add(duration);
+            flushTimeMax.record(duration);
+            batchSizes[getBucket(batch.size())].increment();
+            if (pending.addAndGet(-batch.size()) <= lowWatermark) {
+                notifyResumed();
+            }
+        }
+    }
+
+    private static int getBucket(int size) {
+        for (int i = 0; i < BATCH_BUCKETS.length; i++) {
+            if (size <= BATCH_BUCKETS[i]) {
+                return i;
+            }
+        }
+        return BATCH_BUCKETS.length;
+    }
+
+    public int getQueueSize() {
+        return pending.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    /**
+     * Average flush duration in milliseconds.
+     */
+    public double getAverageFlushTime() {
+        long count = flushCount.sum();
+        return count > 0 ? flushTime.sum() / (double) count / 1_000_000 : 0;
+    }
+
+    /**
+     * Maximum flush duration in milliseconds during the last one to two minutes.
+     */
+    public double getMaxFlushTime() {
+        return flushTimeMax.get() / 1_000_000.0;
+    }
+
+    /**
+     * Number of flushed batches by batch size bucket, keyed by the bucket upper bound ("+Inf" for the last one).
+     */
+    public Map<String, Long> getBatchSizes() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < batchSizes.length; i++) {
+            String bound = i < BATCH_BUCKETS.length ? String.valueOf(BATCH_BUCKETS[i]) : "+Inf";
+            result.put(bound, batchSizes[i].sum());
         }
+        return result;
     }
 
 }
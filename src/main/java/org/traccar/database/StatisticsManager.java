@@ -34,39 +34,54 @@ import jakarta.inject.Singleton;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.Form;
-import java.util.Calendar;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 @Singleton
 public class StatisticsManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsManager.class);
 
-    private static final int SPLIT_MODE = Calendar.DAY_OF_MONTH;
+    /**
+     * Counters for a single local calendar day. Counters are only incremented, a period is replaced as a whole when the
+     * day changes, so the hot path only compares the current time with the period end.
+     */
+    private static final class Period {
+        private final long end;
+        private final Set<Long> users = ConcurrentHashMap.newKeySet();
+        private final Map<Long, String> deviceProtocols = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> deviceMessages = new ConcurrentHashMap<>();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder messagesReceived = new LongAdder();
+        private final LongAdder messagesStored = new LongAdder();
+        private final LongAdder mailSent = new LongAdder();
+        private final LongAdder smsSent = new LongAdder();
+        private final LongAdder geocoderRequests = new LongAdder();
+        private final LongAdder geolocationRequests = new LongAdder();
+
+        private Period(long time) {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate day = new Date(time).toInstant().atZone(zone).toLocalDate();
+            end = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+    }
 
     private final Config config;
     private final Storage storage;
     private final Client client;
     private final ObjectMapper objectMapper;
 
-    private final AtomicInteger lastUpdate = new AtomicInteger(Calendar.getInstance().get(SPLIT_MODE));
-
-    private final Set<Long> users = new HashSet<>();
-    private final Map<Long, String> deviceProtocols = new HashMap<>();
-    private final Map<Long, Integer> deviceMessages = new HashMap<>();
-
-    private int requests;
-    private int messagesReceived;
-    private int messagesStored;
-    private int mailSent;
-    private int smsSent;
-    private int geocoderRequests;
-    private int geolocationRequests;
+    private final AtomicReference<Period> current = new AtomicReference<>(new Period(System.currentTimeMillis()));
+    private final Queue<Period> completed = new ConcurrentLinkedQueue<>();
 
     @Inject
     public StatisticsManager(Config config, Storage storage, Client client, ObjectMapper objectMapper) {
@@ -76,132 +91,138 @@ public class StatisticsManager {
         this.objectMapper = objectMapper;
     }
 
-    private void checkSplit() {
-        int currentUpdate = Calendar.getInstance().get(SPLIT_MODE);
-        if (lastUpdate.getAndSet(currentUpdate) != currentUpdate) {
-            Statistics statistics = new Statistics();
-
-            synchronized (this) {
-                statistics.setCaptureTime(new Date());
-                statistics.setActiveUsers(users.size());
-                statistics.setActiveDevices(deviceProtocols.size());
-                statistics.setRequests(requests);
-                statistics.setMessagesReceived(messagesReceived);
-                statistics.setMessagesStored(messagesStored);
-                statistics.setMailSent(mailSent);
-                statistics.setSmsSent(smsSent);
-                statistics.setGeocoderRequests(geocoderRequests);
-                statistics.setGeolocationRequests(geolocationRequests);
-                if (!deviceProtocols.isEmpty()) {
-                    Map<String, Integer> protocols = new HashMap<>();
-                    for (String protocol : deviceProtocols.values()) {
-                        protocols.compute(protocol, (key, count) -> count != null ? count + 1 : 1);
-                    }
-                    statistics.setProtocols(protocols);
-                }
-
-                users.clear();
-                deviceProtocols.clear();
-                deviceMessages.clear();
-                requests = 0;
-                messagesReceived = 0;
-                messagesStored = 0;
-                mailSent = 0;
-                smsSent = 0;
-                geocoderRequests = 0;
-                geolocationRequests = 0;
+    private Period getPeriod() {
+        Period period = current.get();
+        long time = System.currentTimeMillis();
+        if (time >= period.end) {
+            Period next = new Period(time);
+            if (current.compareAndSet(period, next)) {
+                completed.add(period);
             }
+            period = current.get();
+        }
+        return period;
+    }
+
+    /**
+     * Rolls the counters over if the day has changed and saves completed days. Called periodically by the scheduler,
+     * so storage and network calls never happen on the message processing path.
+     */
+    public void checkSplit() {
+        getPeriod();
+        Period period;
+        while ((period = completed.poll()) != null) {
+            saveStatistics(period);
+        }
+    }
 
-            try {
-                storage.addObject(statistics, new Request(new Columns.Exclude("id")));
-            } catch (StorageException e) {
-                LOGGER.warn("Error saving statistics", e);
+    private void saveStatistics(Period period) {
+        Statistics statistics = new Statistics();
+        statistics.setCaptureTime(new Date(period.end));
+        statistics.setActiveUsers(period.users.size());
+        statistics.setActiveDevices(period.deviceMessages.size());
+        statistics.setRequests(period.requests.intValue());
+        statistics.setMessagesReceived(period.messagesReceived.intValue());
+        statistics.setMessagesStored(period.messagesStored.intValue());
+        statistics.setMailSent(period.mailSent.intValue());
+        statistics.setSmsSent(period.smsSent.intValue());
+        statistics.setGeocoderRequests(period.geocoderRequests.intValue());
+        statistics.setGeolocationRequests(period.geolocationRequests.intValue());
+        if (!period.deviceProtocols.isEmpty()) {
+            Map<String, Integer> protocols = new HashMap<>();
+            for (String protocol : period.deviceProtocols.values()) {
+                protocols.compute(protocol, (key, count) -> count != null ? count + 1 : 1);
             }
+            statistics.setProtocols(protocols);
+        }
+
+        try {
+            storage.addObject(statistics, new Request(new Columns.Exclude("id")));
+        } catch (StorageException e) {
+            LOGGER.warn("Error saving statistics", e);
+        }
 
-            String url = config.getString(Keys.SERVER_STATISTICS);
-            if (url != null && !url.isEmpty()) {
-                String time = DateUtil.formatDate(statistics.getCaptureTime());
-
-                Form form = new Form();
-                form.param("version", getClass().getPackage().getImplementationVersion());
-                form.param("captureTime", time);
-                form.param("activeUsers", String.valueOf(statistics.getActiveUsers()));
-                form.param("activeDevices", String.valueOf(statistics.getActiveDevices()));
-                form.param("requests", String.valueOf(statistics.getRequests()));
-                form.param("messagesReceived", String.valueOf(statistics.getMessagesReceived()));
-                form.param("messagesStored", String.valueOf(statistics.getMessagesStored()));
-                form.param("mailSent", String.valueOf(statistics.getMailSent()));
-                form.param("smsSent", String.valueOf(statistics.getSmsSent()));
-                form.param("geocoderRequests", String.valueOf(statistics.getGeocoderRequests()));
-                form.param("geolocationRequests", String.valueOf(statistics.getGeolocationRequests()));
-                if (statistics.getProtocols() != null) {
-                    try {
-                        form.param("protocols", objectMapper.writeValueAsString(statistics.getProtocols()));
-                    } catch (JsonProcessingException e) {
-                        LOGGER.warn("Failed to serialize protocols", e);
-                    }
+        String url = config.getString(Keys.SERVER_STATISTICS);
+        if (url != null && !url.isEmpty()) {
+            String time = DateUtil.formatDate(statistics.getCaptureTime());
+
+            Form form = new Form();
+            form.param("version", getClass().getPackage().getImplementationVersion());
+            form.param("captureTime", time);
+            form.param("activeUsers", String.valueOf(statistics.getActiveUsers()));
+            form.param("activeDevices", String.valueOf(statistics.getActiveDevices()));
+            form.param("requests", String.valueOf(statistics.getRequests()));
+            form.param("messagesReceived", String.valueOf(statistics.getMessagesReceived()));
+            form.param("messagesStored", String.valueOf(statistics.getMessagesStored()));
+            form.param("mailSent", String.valueOf(statistics.getMailSent()));
+            form.param("smsSent", String.valueOf(statistics.getSmsSent()));
+            form.param("geocoderRequests", String.valueOf(statistics.getGeocoderRequests()));
+            form.param("geolocationRequests", String.valueOf(statistics.getGeolocationRequests()));
+            if (statistics.getProtocols() != null) {
+                try {
+                    form.param("protocols", objectMapper.writeValueAsString(statistics.getProtocols()));
+                } catch (JsonProcessingException e) {
+                    LOGGER.warn("Failed to serialize protocols", e);
                 }
-                if (!statistics.getAttributes().isEmpty()) {
-                    try {
-                        form.param("attributes", objectMapper.writeValueAsString(statistics.getAttributes()));
-                    } catch (JsonProcessingException e) {
-                        LOGGER.warn("Failed to serialize attributes", e);
-                    }
+            }
+            if (!statistics.getAttributes().isEmpty()) {
+                try {
+                    form.param("attributes", objectMapper.writeValueAsString(statistics.getAttributes()));
+                } catch (JsonProcessingException e) {
+                    LOGGER.warn("Failed to serialize attributes", e);
                 }
-
-                client.target(url).request().async().post(Entity.form(form));
             }
+
+            client.target(url).request().async().post(Entity.form(form));
         }
     }
 
-    public synchronized void registerRequest(long userId) {
-        checkSplit();
-        requests += 1;
+    public void registerRequest(long userId) {
+        Period period = getPeriod();
+        period.requests.increment();
         if (userId != 0 && userId != ServiceAccountUser.ID) {
-            users.add(userId);
+            period.users.add(userId);
         }
     }
 
-    public synchronized void registerMessageReceived() {
-        checkSplit();
-        messagesReceived += 1;
+    public void registerMessageReceived() {
+        getPeriod().messagesReceived.increment();
     }
 
-    public synchronized void registerMessageStored(long deviceId, String protocol) {
-        checkSplit();
-        messagesStored += 1;
+    public void registerMessageStored(long deviceId, String protocol) {
+        Period period = getPeriod();
+        period.messagesStored.increment();
         if (deviceId != 0) {
-            deviceProtocols.put(deviceId, protocol);
-            deviceMessages.merge(deviceId, 1, Integer::sum);
+            if (protocol != null) {
+                period.deviceProtocols.put(deviceId, protocol);
+            }
+            period.deviceMessages.computeIfAbsent(deviceId, key -> new LongAdder()).increment();
         }
     }
 
-    public synchronized int messageStoredCount() {
-        return messagesStored;
+    public int messageStoredCount() {
+        return getPeriod().messagesStored.intValue();
     }
 
-    public synchronized int messageStoredCount(long deviceId) {
-        return deviceMessages.getOrDefault(deviceId, 0);
+    public int messageStoredCount(long deviceId) {
+        LongAdder count = getPeriod().deviceMessages.get(deviceId);
+        return count != null ? count.intValue() : 0;
     }
 
-    public synchronized void registerMail() {
-        checkSplit();
-        mailSent += 1;
+    public void registerMail() {
+        getPeriod().mailSent.increment();
     }
 
-    public synchronized void registerSms() {
-        checkSplit();
-        smsSent += 1;
+    public void registerSms() {
+        getPeriod().smsSent.increment();
     }
 
-    public synchronized void registerGeocoderRequest() {
-        checkSplit();
-        geocoderRequests += 1;
+    public void registerGeocoderRequest() {
+        getPeriod().geocoderRequests.increment();
     }
 
-    public synchronized void registerGeolocationRequest() {
-        checkSplit();
-        geolocationRequests += 1;
+    public void registerGeolocationRequest() {
+        getPeriod().geolocationRequests.increment();
     }
 
 }
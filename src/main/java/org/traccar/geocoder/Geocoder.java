@@ -15,6 +15,7 @@
  */
 package org.traccar.geocoder;
 
+import org.traccar.database.MetricsRegistry;
 import org.traccar.database.StatisticsManager;
 
 public interface Geocoder {
@@ -31,4 +32,7 @@ public interface Geocoder {
 
     void setStatisticsManager(StatisticsManager statisticsManager);
 
+    default void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    }
+
 }
@@ -17,6 +17,7 @@ package org.traccar.geocoder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.database.MetricsRegistry;
 import org.traccar.database.StatisticsManager;
 
 import jakarta.json.JsonArray;
@@ -39,6 +40,8 @@ public abstract class JsonGeocoder implements Geocoder {
     private final String url;
     private final AddressFormat addressFormat;
     private StatisticsManager statisticsManager;
+    private MetricsRegistry.Counter cacheHits;
+    private MetricsRegistry.Counter cacheMisses;
 
     private Map<Map.Entry<Double, Double>, String> cache;
 
@@ -61,6 +64,19 @@ public abstract class JsonGeocoder implements Geocoder {
         this.statisticsManager = statisticsManager;
     }
 
+    @Override
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        if (cache != null) {
+            cacheHits = metricsRegistry.counter("traccar_geocoder_cache_hits_total", "Geocoder cache hits");
+            cacheMisses = metricsRegistry.counter("traccar_geocoder_cache_misses_total", "Geocoder cache misses");
+            metricsRegistry.gauge("traccar_geocoder_cache_hit_ratio", "Geocoder cache hit ratio", () -> {
+                long hits = cacheHits.get();
+                long total = hits + cacheMisses.get();
+                return total > 0 ? (double) hits / total : 0;
+            });
+        }
+    }
+
     protected String readValue(JsonObject object, String key) {
         if (object != null && object.containsKey(key) && !object.isNull(key)) {
             JsonValue value = object.get(key);
@@ -125,8 +141,14 @@ public abstract class JsonGeocoder implements Geocoder {
                 if (callback != null) {
                     callback.onSuccess(cachedAddress);
                 }
+                if (cacheHits != null) {
+                    cacheHits.increment();
+                }
                 return cachedAddress;
             }
+            if (cacheMisses != null) {
+                cacheMisses.increment();
+            }
         }
 
         if (statisticsManager != null) {
@@ -22,6 +22,8 @@ import org.traccar.helper.DistanceCalculator;
 
 public class GeofenceCircle extends GeofenceGeometry {
 
+    private static final double BOUNDARY_MARGIN = 1.01;
+
     private final double centerLatitude;
     private final double centerLongitude;
     private final double radius;
@@ -31,8 +33,7 @@ public class GeofenceCircle extends GeofenceGeometry {
         centerLatitude = decoded.latitude;
         centerLongitude = decoded.longitude;
         radius = decoded.radius;
-        setMin(new Coordinate(centerLatitude - radius, centerLongitude - radius));
-        setMax(new Coordinate(centerLatitude + radius, centerLongitude + radius));
+        calculateBoundary(new double[] {centerLatitude}, new double[] {centerLongitude}, radius * BOUNDARY_MARGIN);
     }
 
     @Override
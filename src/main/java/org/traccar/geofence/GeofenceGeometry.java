@@ -17,8 +17,6 @@ package org.traccar.geofence;
 
 import org.traccar.helper.DistanceCalculator;
 
-import java.util.List;
-
 public abstract class GeofenceGeometry {
 
     private Coordinate min;
@@ -32,19 +30,24 @@ public abstract class GeofenceGeometry {
         this.max = max;
     }
 
-    protected void calculateBoundary(List<Coordinate> coordinates, double padding) {
-        var iterator = coordinates.iterator();
-        Coordinate current = iterator.next();
-        double minLat = current.lat();
-        double minLon = current.lon();
-        double maxLat = current.lat();
-        double maxLon = current.lon();
-        while (iterator.hasNext()) {
-            current = iterator.next();
-            minLat = Math.min(minLat, current.lat());
-            minLon = Math.min(minLon, current.lon());
-            maxLat = Math.max(maxLat, current.lat());
-            maxLon = Math.max(maxLon, current.lon());
+    public Coordinate getMin() {
+        return min;
+    }
+
+    public Coordinate getMax() {
+        return max;
+    }
+
+    protected void calculateBoundary(double[] lats, double[] lons, double padding) {
+        double minLat = lats[0];
+        double minLon = lons[0];
+        double maxLat = lats[0];
+        double maxLon = lons[0];
+        for (int i = 1; i < lats.length; i++) {
+            minLat = Math.min(minLat, lats[i]);
+            minLon = Math.min(minLon, lons[i]);
+            maxLat = Math.max(maxLat, lats[i]);
+            maxLon = Math.max(maxLon, lons[i]);
         }
         if (padding > 0) {
             double latPadding = DistanceCalculator.getLatitudeDelta(padding);
@@ -94,13 +97,11 @@ public abstract class GeofenceGeometry {
             double latitude1, double longitude1, double latitude2, double longitude2);
 
     protected static boolean intersectsEdges(
-            List<Coordinate> coordinates, boolean closed,
+            double[] lats, double[] lons, boolean closed,
             double latitude1, double longitude1, double latitude2, double longitude2) {
-        for (int i = closed ? 0 : 1, j = closed ? coordinates.size() - 1 : 0; i < coordinates.size(); j = i++) {
+        for (int i = closed ? 0 : 1, j = closed ? lats.length - 1 : 0; i < lats.length; j = i++) {
             if (DistanceCalculator.segmentsIntersect(
-                    latitude1, longitude1, latitude2, longitude2,
-                    coordinates.get(j).lat(), coordinates.get(j).lon(),
-                    coordinates.get(i).lat(), coordinates.get(i).lon())) {
+                    latitude1, longitude1, latitude2, longitude2, lats[j], lons[j], lats[i], lons[i])) {
                 return true;
             }
         }
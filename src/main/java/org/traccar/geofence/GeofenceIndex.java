@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.geofence;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.model.Geofence;
+import org.traccar.model.Position;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable spatial index over the bounding boxes of a set of geofences. Geometries that cannot be described by a
+ * simple longitude range (crossing the antimeridian or covering a pole) are always returned as candidates.
+ */
+public class GeofenceIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeofenceIndex.class);
+
+    private static final int LINEAR_THRESHOLD = 8;
+
+    private final List<Geofence> unindexed = new ArrayList<>();
+    private final STRtree tree;
+
+    public GeofenceIndex(Collection<Geofence> geofences) {
+        STRtree tree = geofences.size() > LINEAR_THRESHOLD ? new STRtree() : null;
+        for (Geofence geofence : geofences) {
+            GeofenceGeometry geometry;
+            try {
+                geometry = geofence.getGeometry();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Geofence geometry error", e);
+                continue;
+            }
+            Envelope envelope = tree != null ? getEnvelope(geometry) : null;
+            if (envelope != null) {
+                tree.insert(envelope, geofence);
+            } else {
+                unindexed.add(geofence);
+            }
+        }
+        if (tree != null) {
+            tree.build();
+        }
+        this.tree = tree;
+    }
+
+    private static Envelope getEnvelope(GeofenceGeometry geometry) {
+        var min = geometry.getMin();
+        var max = geometry.getMax();
+        if (min == null || max == null
+                || min.lon() < -180 || max.lon() > 180 || max.lon() - min.lon() > 180
+                || min.lat() < -90 || max.lat() > 90) {
+            return null;
+        }
+        return new Envelope(min.lon(), max.lon(), min.lat(), max.lat());
+    }
+
+    public int size() {
+        return unindexed.size() + (tree != null ? tree.size() : 0);
+    }
+
+    public List<Geofence> getCandidates(double latitude, double longitude) {
+        return getCandidates(latitude, longitude, latitude, longitude);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Geofence> getCandidates(double latitude1, double longitude1, double latitude2, double longitude2) {
+        if (tree == null) {
+            return unindexed;
+        }
+        List<Geofence> candidates = tree.query(new Envelope(longitude1, longitude2, latitude1, latitude2));
+        if (!unindexed.isEmpty()) {
+            candidates = new ArrayList<>(candidates);
+            candidates.addAll(unindexed);
+        }
+        return candidates;
+    }
+
+    public List<Long> getGeofenceIds(Position position) {
+        List<Long> result = new ArrayList<>();
+        for (Geofence geofence : getCandidates(position.getLatitude(), position.getLongitude())) {
+            if (geofence.containsPosition(position)) {
+                result.add(geofence.getId());
+            }
+        }
+        return result;
+    }
+
+}
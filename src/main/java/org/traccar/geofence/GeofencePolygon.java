@@ -22,54 +22,128 @@ import org.locationtech.spatial4j.shape.ShapeFactory;
 import org.locationtech.spatial4j.shape.jts.JtsShapeFactory;
 
 import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.List;
 
 public class GeofencePolygon extends GeofenceGeometry {
 
-    private final List<Coordinate> coordinates;
+    /**
+     * Polygons with at least this many vertices get a longitude slab index, so that a containment test only
+     * visits edges overlapping the slab of the tested point.
+     */
+    private static final int SLAB_THRESHOLD = 256;
+    private static final int SLAB_VERTICES = 8;
+
+    private final int count;
+    private final double[] lats;
+    private final double[] lons;
+    private final double[] normalizedLons;
 
     private final double[] constant;
     private final double[] multiple;
 
     private final boolean needNormalize;
 
-    public GeofencePolygon(String wkt) throws ParseException {
-        coordinates = fromWkt(wkt);
-        calculateBoundary(coordinates, 0);
-
-        int polyCorners = coordinates.size();
-        int i;
-        int j = polyCorners - 1;
+    private double slabMin;
+    private double slabMax;
+    private double slabScale;
+    private int slabCount;
+    private int[] slabStart;
+    private int[] slabEdges;
 
-        constant = new double[polyCorners];
-        multiple = new double[polyCorners];
+    public GeofencePolygon(String wkt) throws ParseException {
+        double[][] vertices = fromWkt(wkt);
+        lats = vertices[0];
+        lons = vertices[1];
+        count = lats.length;
 
+        double minLat = lats[0];
+        double maxLat = lats[0];
+        double minLon = lons[0];
+        double maxLon = lons[0];
         boolean hasNegative = false;
         boolean hasPositive = false;
-        for (i = 0; i < polyCorners; i++) {
-            if (coordinates.get(i).lon() > 90) {
+        for (int i = 0; i < count; i++) {
+            minLat = Math.min(minLat, lats[i]);
+            maxLat = Math.max(maxLat, lats[i]);
+            minLon = Math.min(minLon, lons[i]);
+            maxLon = Math.max(maxLon, lons[i]);
+            if (lons[i] > 90) {
                 hasPositive = true;
-            } else if (coordinates.get(i).lon() < -90) {
+            } else if (lons[i] < -90) {
                 hasNegative = true;
             }
         }
+        setMin(new Coordinate(minLat, minLon));
+        setMax(new Coordinate(maxLat, maxLon));
         needNormalize = hasPositive && hasNegative;
 
-        for (i = 0; i < polyCorners; j = i++) {
-            if (normalizeLon(coordinates.get(j).lon()) == normalizeLon(coordinates.get(i).lon())) {
-                constant[i] = coordinates.get(i).lon();
+        normalizedLons = new double[count];
+        for (int i = 0; i < count; i++) {
+            normalizedLons[i] = normalizeLon(lons[i]);
+        }
+
+        constant = new double[count];
+        multiple = new double[count];
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            if (normalizedLons[j] == normalizedLons[i]) {
+                constant[i] = lons[i];
                 multiple[i] = 0;
             } else {
-                constant[i] = coordinates.get(i).lat()
-                        - (normalizeLon(coordinates.get(i).lon()) * coordinates.get(j).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()))
-                        + (normalizeLon(coordinates.get(i).lon()) * coordinates.get(i).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()));
-                multiple[i] = (coordinates.get(j).lat() - coordinates.get(i).lat())
-                        / (normalizeLon(coordinates.get(j).lon()) - normalizeLon(coordinates.get(i).lon()));
+                double delta = normalizedLons[j] - normalizedLons[i];
+                constant[i] = lats[i]
+                        - (normalizedLons[i] * lats[j]) / delta
+                        + (normalizedLons[i] * lats[i]) / delta;
+                multiple[i] = (lats[j] - lats[i]) / delta;
             }
         }
+
+        if (count >= SLAB_THRESHOLD) {
+            buildSlabs();
+        }
+    }
+
+    private void buildSlabs() {
+        double min = normalizedLons[0];
+        double max = normalizedLons[0];
+        for (int i = 1; i < count; i++) {
+            min = Math.min(min, normalizedLons[i]);
+            max = Math.max(max, normalizedLons[i]);
+        }
+        if (max <= min) {
+            return;
+        }
+
+        slabMin = min;
+        slabMax = max;
+        slabCount = count / SLAB_VERTICES;
+        slabScale = slabCount / (max - min);
+
+        int[] start = new int[slabCount + 1];
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            int last = getSlab(Math.max(normalizedLons[i], normalizedLons[j]));
+            for (int slab = getSlab(Math.min(normalizedLons[i], normalizedLons[j])); slab <= last; slab++) {
+                start[slab + 1] += 1;
+            }
+        }
+        for (int slab = 0; slab < slabCount; slab++) {
+            start[slab + 1] += start[slab];
+        }
+
+        int[] position = new int[slabCount];
+        int[] edges = new int[start[slabCount]];
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            int last = getSlab(Math.max(normalizedLons[i], normalizedLons[j]));
+            for (int slab = getSlab(Math.min(normalizedLons[i], normalizedLons[j])); slab <= last; slab++) {
+                edges[start[slab] + position[slab]++] = i;
+            }
+        }
+
+        slabStart = start;
+        slabEdges = edges;
+    }
+
+    private int getSlab(double longitudeNorm) {
+        int slab = (int) ((longitudeNorm - slabMin) * slabScale);
+        return Math.max(0, Math.min(slab, slabCount - 1));
     }
 
     private double normalizeLon(double lon) {
@@ -79,30 +153,40 @@ public class GeofencePolygon extends GeofenceGeometry {
         return lon;
     }
 
+    private boolean crossesEdge(int i, int j, double latitude, double longitudeNorm) {
+        return (normalizedLons[i] < longitudeNorm && normalizedLons[j] >= longitudeNorm
+                || normalizedLons[j] < longitudeNorm && normalizedLons[i] >= longitudeNorm)
+                && longitudeNorm * multiple[i] + constant[i] < latitude;
+    }
+
     @Override
     protected boolean containsPointInternal(double latitude, double longitude) {
 
-        int polyCorners = coordinates.size();
-        int i;
-        int j = polyCorners - 1;
         double longitudeNorm = normalizeLon(longitude);
         boolean oddNodes = false;
 
-        for (i = 0; i < polyCorners; j = i++) {
-            if (normalizeLon(coordinates.get(i).lon()) < longitudeNorm
-                    && normalizeLon(coordinates.get(j).lon()) >= longitudeNorm
-                    || normalizeLon(coordinates.get(j).lon()) < longitudeNorm
-                    && normalizeLon(coordinates.get(i).lon()) >= longitudeNorm) {
-                oddNodes ^= longitudeNorm * multiple[i] + constant[i] < latitude;
+        if (slabStart != null) {
+            if (longitudeNorm < slabMin || longitudeNorm > slabMax) {
+                return false;
+            }
+            int slab = getSlab(longitudeNorm);
+            for (int k = slabStart[slab]; k < slabStart[slab + 1]; k++) {
+                int i = slabEdges[k];
+                oddNodes ^= crossesEdge(i, i > 0 ? i - 1 : count - 1, latitude, longitudeNorm);
+            }
+        } else {
+            for (int i = 0, j = count - 1; i < count; j = i++) {
+                oddNodes ^= crossesEdge(i, j, latitude, longitudeNorm);
             }
         }
+
         return oddNodes;
     }
 
     @Override
     protected boolean intersectsSegmentInternal(
             double latitude1, double longitude1, double latitude2, double longitude2) {
-        if (intersectsEdges(coordinates, true, latitude1, longitude1, latitude2, longitude2)) {
+        if (intersectsEdges(lats, lons, true, latitude1, longitude1, latitude2, longitude2)) {
             return true;
         }
         return containsPointInternal(latitude1, longitude1);
@@ -112,8 +196,8 @@ public class GeofencePolygon extends GeofenceGeometry {
     public double calculateArea() {
         JtsShapeFactory jtsShapeFactory = new JtsSpatialContextFactory().newSpatialContext().getShapeFactory();
         ShapeFactory.PolygonBuilder polygonBuilder = jtsShapeFactory.polygon();
-        for (Coordinate coordinate : coordinates) {
-            polygonBuilder.pointXY(coordinate.lon(), coordinate.lat());
+        for (int i = 0; i < count; i++) {
+            polygonBuilder.pointXY(lons[i], lats[i]);
         }
         return polygonBuilder.build().getArea(SpatialContext.GEO) * DistanceUtils.DEG_TO_KM * DistanceUtils.DEG_TO_KM;
     }
@@ -122,51 +206,84 @@ public class GeofencePolygon extends GeofenceGeometry {
     public String toWkt() {
         StringBuilder buf = new StringBuilder();
         buf.append("POLYGON ((");
-        for (Coordinate coordinate : coordinates) {
-            buf.append(coordinate.lat());
+        for (int i = 0; i < count; i++) {
+            buf.append(lats[i]);
             buf.append(" ");
-            buf.append(coordinate.lon());
+            buf.append(lons[i]);
             buf.append(", ");
         }
         return buf.substring(0, buf.length() - 2) + "))";
     }
 
-    public List<Coordinate> fromWkt(String wkt) throws ParseException {
-        List<Coordinate> coordinates = new ArrayList<>();
+    private static double parseCoordinate(String wkt, int start, int end) throws ParseException {
+        String token = wkt.substring(start, end);
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException e) {
+            throw new ParseException(token + " is not a double", 0);
+        }
+    }
 
+    private static double[][] fromWkt(String wkt) throws ParseException {
         if (!wkt.startsWith("POLYGON")) {
             throw new ParseException("Mismatch geometry type", 0);
         }
-        String content = wkt.substring(wkt.indexOf("((") + 2, wkt.indexOf("))"));
-        if (content.isEmpty()) {
+        int contentStart = wkt.indexOf("((") + 2;
+        int contentEnd = wkt.indexOf("))");
+        if (contentStart < 2 || contentEnd <= contentStart) {
             throw new ParseException("No content", 0);
         }
-        String[] commaTokens = content.split(",");
-        if (commaTokens.length < 3) {
+
+        int tokens = 1;
+        for (int i = contentStart; i < contentEnd; i++) {
+            if (wkt.charAt(i) == ',') {
+                tokens += 1;
+            }
+        }
+        if (tokens < 3) {
             throw new ParseException("Not valid content", 0);
         }
 
-        for (String commaToken : commaTokens) {
-            String[] tokens = commaToken.trim().split("\\s");
-            if (tokens.length != 2) {
-                throw new ParseException("Here must be two coordinates: " + commaToken, 0);
+        double[] lats = new double[tokens];
+        double[] lons = new double[tokens];
+        int tokenStart = contentStart;
+        for (int index = 0; index < tokens; index++) {
+            int tokenEnd = wkt.indexOf(',', tokenStart);
+            if (tokenEnd < 0 || tokenEnd > contentEnd) {
+                tokenEnd = contentEnd;
+            }
+
+            int latStart = tokenStart;
+            while (latStart < tokenEnd && Character.isWhitespace(wkt.charAt(latStart))) {
+                latStart += 1;
             }
-            double lat;
-            try {
-                lat = Double.parseDouble(tokens[0]);
-            } catch (NumberFormatException e) {
-                throw new ParseException(tokens[0] + " is not a double", 0);
+            int latEnd = latStart;
+            while (latEnd < tokenEnd && !Character.isWhitespace(wkt.charAt(latEnd))) {
+                latEnd += 1;
             }
-            double lon;
-            try {
-                lon = Double.parseDouble(tokens[1]);
-            } catch (NumberFormatException e) {
-                throw new ParseException(tokens[1] + " is not a double", 0);
+            int lonStart = latEnd;
+            while (lonStart < tokenEnd && Character.isWhitespace(wkt.charAt(lonStart))) {
+                lonStart += 1;
             }
-            coordinates.add(new Coordinate(lat, lon));
+            int lonEnd = lonStart;
+            while (lonEnd < tokenEnd && !Character.isWhitespace(wkt.charAt(lonEnd))) {
+                lonEnd += 1;
+            }
+            int rest = lonEnd;
+            while (rest < tokenEnd && Character.isWhitespace(wkt.charAt(rest))) {
+                rest += 1;
+            }
+            if (latStart == latEnd || lonStart == lonEnd || rest != tokenEnd) {
+                throw new ParseException(
+                        "Here must be two coordinates: " + wkt.substring(tokenStart, tokenEnd), 0);
+            }
+
+            lats[index] = parseCoordinate(wkt, latStart, latEnd);
+            lons[index] = parseCoordinate(wkt, lonStart, lonEnd);
+            tokenStart = tokenEnd + 1;
         }
 
-        return coordinates;
+        return new double[][] {lats, lons};
     }
 
 }
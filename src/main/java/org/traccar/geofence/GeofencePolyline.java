@@ -17,28 +17,28 @@
 package org.traccar.geofence;
 
 import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.List;
 
 import org.traccar.helper.DistanceCalculator;
 
 public class GeofencePolyline extends GeofenceGeometry {
 
-    private final List<Coordinate> coordinates;
+    private final double[] lats;
+    private final double[] lons;
     private final double polylineDistance;
 
     public GeofencePolyline(String wkt, double polylineDistance) throws ParseException {
-        coordinates = fromWkt(wkt);
-        calculateBoundary(coordinates, polylineDistance);
+        double[][] vertices = fromWkt(wkt);
+        lats = vertices[0];
+        lons = vertices[1];
+        calculateBoundary(lats, lons, polylineDistance);
         this.polylineDistance = polylineDistance;
     }
 
     @Override
     protected boolean containsPointInternal(double latitude, double longitude) {
-        for (int i = 1; i < coordinates.size(); i++) {
+        for (int i = 1; i < lats.length; i++) {
             if (DistanceCalculator.distanceToLine(
-                    latitude, longitude, coordinates.get(i - 1).lat(), coordinates.get(i - 1).lon(),
-                    coordinates.get(i).lat(), coordinates.get(i).lon()) <= polylineDistance) {
+                    latitude, longitude, lats[i - 1], lons[i - 1], lats[i], lons[i]) <= polylineDistance) {
                 return true;
             }
         }
@@ -48,7 +48,7 @@ public class GeofencePolyline extends GeofenceGeometry {
     @Override
     protected boolean intersectsSegmentInternal(
             double latitude1, double longitude1, double latitude2, double longitude2) {
-        return intersectsEdges(coordinates, false, latitude1, longitude1, latitude2, longitude2);
+        return intersectsEdges(lats, lons, false, latitude1, longitude1, latitude2, longitude2);
     }
 
     @Override
@@ -60,18 +60,16 @@ public class GeofencePolyline extends GeofenceGeometry {
     public String toWkt() {
         StringBuilder buf = new StringBuilder();
         buf.append("LINESTRING (");
-        for (Coordinate coordinate : coordinates) {
-            buf.append(coordinate.lat());
+        for (int i = 0; i < lats.length; i++) {
+            buf.append(lats[i]);
             buf.append(" ");
-            buf.append(coordinate.lon());
+            buf.append(lons[i]);
             buf.append(", ");
         }
         return buf.substring(0, buf.length() - 2) + ")";
     }
 
-    private List<Coordinate> fromWkt(String wkt) throws ParseException {
-        List<Coordinate> coordinates = new ArrayList<>();
-
+    private static double[][] fromWkt(String wkt) throws ParseException {
         if (!wkt.startsWith("LINESTRING")) {
             throw new ParseException("Mismatch geometry type", 0);
         }
@@ -84,7 +82,10 @@ public class GeofencePolyline extends GeofenceGeometry {
             throw new ParseException("Not valid content", 0);
         }
 
-        for (String commaToken : commaTokens) {
+        double[] lats = new double[commaTokens.length];
+        double[] lons = new double[commaTokens.length];
+        for (int index = 0; index < commaTokens.length; index++) {
+            String commaToken = commaTokens[index];
             String[] tokens = commaToken.trim().split("\\s");
             if (tokens.length != 2) {
                 throw new ParseException("Here must be two coordinates: " + commaToken, 0);
@@ -101,10 +102,11 @@ public class GeofencePolyline extends GeofenceGeometry {
             } catch (NumberFormatException e) {
                 throw new ParseException(tokens[1] + " is not a double", 0);
             }
-            coordinates.add(new Coordinate(lat, lon));
+            lats[index] = lat;
+            lons[index] = lon;
         }
 
-        return coordinates;
+        return new double[][] {lats, lons};
     }
 
 }
@@ -18,10 +18,11 @@ package org.traccar.handler;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.jexl3.JexlEngine;
 import org.apache.commons.jexl3.JexlException;
 import org.apache.commons.jexl3.JexlFeatures;
-import org.apache.commons.jexl3.MapContext;
+import org.apache.commons.jexl3.JexlScript;
 import org.apache.commons.jexl3.introspection.JexlSandbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,11 +30,14 @@ import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.ReflectionCache;
 import org.traccar.model.Attribute;
+import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
 import java.lang.invoke.MethodHandle;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -41,10 +45,12 @@ import java.util.List;
 import java.util.Map;
 
 @Singleton
-public class ComputedAttributesProvider {
+public class ComputedAttributesProvider implements CacheManager.InvalidationListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ComputedAttributesProvider.class);
 
+    private static final Object MISSING = new Object();
+
     private final CacheManager cacheManager;
 
     private final JexlEngine engine;
@@ -53,6 +59,12 @@ public class ComputedAttributesProvider {
     private final boolean includeDeviceAttributes;
     private final boolean includeLastAttributes;
 
+    private final Map<String, MethodHandle> positionProperties = new HashMap<>();
+
+    private record ScriptKey(long attributeId, String expression) {}
+
+    private final Map<ScriptKey, JexlScript> scripts;
+
     @Inject
     public ComputedAttributesProvider(Config config, CacheManager cacheManager) {
         this.cacheManager = cacheManager;
@@ -76,54 +88,152 @@ public class ComputedAttributesProvider {
                 .create();
         includeDeviceAttributes = config.getBoolean(Keys.PROCESSING_COMPUTED_ATTRIBUTES_DEVICE_ATTRIBUTES);
         includeLastAttributes = config.getBoolean(Keys.PROCESSING_COMPUTED_ATTRIBUTES_LAST_ATTRIBUTES);
+
+        ReflectionCache.getProperties(Position.class, "get").forEach((name, property) -> {
+            if (!property.type().equals(Map.class)) {
+                positionProperties.put(name, property.handle());
+            }
+        });
+
+        int cacheSize = config.getInteger(Keys.PROCESSING_COMPUTED_ATTRIBUTES_CACHE_SIZE);
+        scripts = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry eldest) {
+                return size() > cacheSize;
+            }
+        });
+
+        if (cacheManager != null) {
+            cacheManager.addInvalidationListener(this);
+        }
+    }
+
+    @Override
+    public void onInvalidateObject(Class<? extends BaseModel> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(Attribute.class) && operation != ObjectOperation.ADD) {
+            synchronized (scripts) {
+                scripts.keySet().removeIf(key -> key.attributeId() == id);
+            }
+        }
     }
 
     public Object compute(Attribute attribute, Position position) throws JexlException {
-        return engine
-                .createScript(features, engine.createInfo(), attribute.getExpression())
-                .execute(prepareContext(position));
+        return getScript(attribute).execute(new PositionContext(position));
+    }
+
+    private JexlScript getScript(Attribute attribute) throws JexlException {
+        ScriptKey key = new ScriptKey(attribute.getId(), attribute.getExpression());
+        JexlScript script = scripts.get(key);
+        if (script == null) {
+            script = engine.createScript(features, engine.createInfo(), attribute.getExpression());
+            scripts.put(key, script);
+        }
+        return script;
     }
 
-    private MapContext prepareContext(Position position) {
-        MapContext result = new MapContext();
-        if (includeDeviceAttributes) {
-            Device device = cacheManager.getObject(Device.class, position.getDeviceId());
-            if (device != null) {
-                for (var entry : device.getAttributes().entrySet()) {
-                    result.set(entry.getKey(), entry.getValue());
+    /**
+     * Resolves variables on demand instead of copying every position property into the context. Lookup order is
+     * local variables, position properties, position attributes, last position values and device attributes.
+     * Assignments are kept in the context and never modify the position.
+     */
+    private final class PositionContext implements JexlContext {
+
+        private final Position position;
+        private final Map<String, Object> locals = new HashMap<>();
+
+        private Position last;
+        private boolean lastLoaded;
+
+        private PositionContext(Position position) {
+            this.position = position;
+        }
+
+        private Position getLast() {
+            if (!lastLoaded) {
+                lastLoaded = true;
+                last = includeLastAttributes ? cacheManager.getPosition(position.getDeviceId()) : null;
+            }
+            return last;
+        }
+
+        private Object resolve(Position source, String name) {
+            MethodHandle handle = positionProperties.get(name);
+            if (handle != null) {
+                try {
+                    return handle.invokeExact((Object) source);
+                } catch (Throwable error) {
+                    LOGGER.warn("Attribute reflection error", error);
+                    return null;
                 }
             }
+            Map<String, Object> attributes = source.getAttributes();
+            if (attributes.containsKey(name)) {
+                return attributes.get(name);
+            }
+            return MISSING;
         }
-        Position last = includeLastAttributes ? cacheManager.getPosition(position.getDeviceId()) : null;
-        ReflectionCache.getProperties(Position.class, "get").forEach((name, property) -> {
-            MethodHandle handle = property.handle();
-            try {
-                Object positionValue = handle.invokeExact((Object) position);
-                Object lastValue = last != null ? handle.invokeExact((Object) last) : null;
-                if (!property.type().equals(Map.class)) {
-                    result.set(name, positionValue);
-                    if (last != null) {
-                        result.set(prefixAttribute("last", name), lastValue);
-                    }
-                } else {
-                    for (Map.Entry<?, ?> entry : ((Map<?, ?>) positionValue).entrySet()) {
-                        result.set((String) entry.getKey(), entry.getValue());
-                    }
-                    if (last != null) {
-                        for (Map.Entry<?, ?> entry : ((Map<?, ?>) lastValue).entrySet()) {
-                            result.set(prefixAttribute("last", (String) entry.getKey()), entry.getValue());
-                        }
+
+        /**
+         * Last position values are exposed with the first character of the key upper-cased, so the original key may
+         * start with either case of the suffix character.
+         */
+        private Object resolveLast(Position lastPosition, String suffix) {
+            char first = suffix.charAt(0);
+            String lowerKey = Character.toLowerCase(first) + suffix.substring(1);
+            if (Character.toUpperCase(lowerKey.charAt(0)) == first) {
+                Object value = resolve(lastPosition, lowerKey);
+                if (value != MISSING) {
+                    return value;
+                }
+            }
+            if (Character.toUpperCase(first) == first && !lowerKey.equals(suffix)) {
+                return resolve(lastPosition, suffix);
+            }
+            return MISSING;
+        }
+
+        private Object lookup(String name) {
+            if (locals.containsKey(name)) {
+                return locals.get(name);
+            }
+            Object value = resolve(position, name);
+            if (value != MISSING) {
+                return value;
+            }
+            if (name.length() > 4 && name.startsWith("last")) {
+                Position lastPosition = getLast();
+                if (lastPosition != null) {
+                    value = resolveLast(lastPosition, name.substring(4));
+                    if (value != MISSING) {
+                        return value;
                     }
                 }
-            } catch (Throwable error) {
-                LOGGER.warn("Attribute reflection error", error);
             }
-        });
-        return result;
-    }
+            if (includeDeviceAttributes) {
+                Device device = cacheManager.getObject(Device.class, position.getDeviceId());
+                if (device != null && device.getAttributes().containsKey(name)) {
+                    return device.getAttributes().get(name);
+                }
+            }
+            return MISSING;
+        }
+
+        @Override
+        public Object get(String name) {
+            Object value = lookup(name);
+            return value != MISSING ? value : null;
+        }
+
+        @Override
+        public void set(String name, Object value) {
+            locals.put(name, value);
+        }
+
+        @Override
+        public boolean has(String name) {
+            return lookup(name) != MISSING;
+        }
 
-    private String prefixAttribute(String prefix, String key) {
-        return prefix + Character.toUpperCase(key.charAt(0)) + key.substring(1);
     }
 
 }
@@ -18,6 +18,7 @@ package org.traccar.handler;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.database.DeviceSummaryManager;
 import org.traccar.database.PositionBatchWriter;
 import org.traccar.database.StatisticsManager;
 import org.traccar.model.Position;
@@ -28,11 +29,15 @@ public class DatabaseHandler extends BasePositionHandler {
 
     private final PositionBatchWriter batchWriter;
     private final StatisticsManager statisticsManager;
+    private final DeviceSummaryManager deviceSummaryManager;
 
     @Inject
-    public DatabaseHandler(PositionBatchWriter batchWriter, StatisticsManager statisticsManager) {
+    public DatabaseHandler(
+            PositionBatchWriter batchWriter, StatisticsManager statisticsManager,
+            DeviceSummaryManager deviceSummaryManager) {
         this.batchWriter = batchWriter;
         this.statisticsManager = statisticsManager;
+        this.deviceSummaryManager = deviceSummaryManager;
     }
 
     @Override
@@ -41,6 +46,7 @@ public class DatabaseHandler extends BasePositionHandler {
             if (error == null) {
                 position.setId(id);
                 statisticsManager.registerMessageStored(position.getDeviceId(), position.getProtocol());
+                deviceSummaryManager.updatePosition(position);
             } else {
                 LOGGER.warn("Failed to store position", error);
             }
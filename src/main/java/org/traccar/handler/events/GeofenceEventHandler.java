@@ -62,7 +62,10 @@ public class GeofenceEventHandler extends BasePositionEventHandler {
         }
 
         if (segmentCrossingEnabled && lastPosition != null) {
-            for (Geofence geofence : cacheManager.getDeviceObjects(position.getDeviceId(), Geofence.class)) {
+            var candidates = cacheManager.getDeviceGeofences(position.getDeviceId()).getCandidates(
+                    lastPosition.getLatitude(), lastPosition.getLongitude(),
+                    position.getLatitude(), position.getLongitude());
+            for (Geofence geofence : candidates) {
                 if (!oldGeofences.contains(geofence.getId()) && !newGeofences.contains(geofence.getId())
                         && geofence.containsSegment(lastPosition, position)) {
                     handleEvent(Event.TYPE_GEOFENCE_CROSSED, position, geofence, callback);
@@ -17,10 +17,9 @@
 package org.traccar.handler.events;
 
 import jakarta.inject.Inject;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.DeviceStateWriter;
 import org.traccar.helper.model.AttributeUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
@@ -30,25 +29,18 @@ import org.traccar.session.state.MotionProcessor;
 import org.traccar.session.state.MotionState;
 import org.traccar.session.state.NewMotionProcessor;
 import org.traccar.session.state.NewMotionState;
-import org.traccar.storage.Storage;
-import org.traccar.storage.StorageException;
-import org.traccar.storage.query.Columns;
-import org.traccar.storage.query.Condition;
-import org.traccar.storage.query.Request;
 import java.util.Date;
 
 public class MotionEventHandler extends BasePositionEventHandler {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(MotionEventHandler.class);
-
     private final Config config;
-    private final Storage storage;
+    private final DeviceStateWriter deviceStateWriter;
 
     @Inject
-    public MotionEventHandler(Config config, CacheManager cacheManager, Storage storage) {
+    public MotionEventHandler(Config config, CacheManager cacheManager, DeviceStateWriter deviceStateWriter) {
         super(cacheManager);
         this.config = config;
-        this.storage = storage;
+        this.deviceStateWriter = deviceStateWriter;
     }
 
     @Override
@@ -77,7 +69,8 @@ public class MotionEventHandler extends BasePositionEventHandler {
         NewMotionState state = new NewMotionState();
         state.setMotionStreak(device.getMotionStreak());
         state.setPositions(cacheManager.getPositions(device.getId()));
-        if (device.hasAttribute("motionTime")) {
+        boolean migrated = device.hasAttribute("motionTime");
+        if (migrated) {
             // TODO temporary migration path
             state.setEventPosition(
                     new Date(((Number) device.getAttributes().remove("motionTime")).longValue()),
@@ -98,14 +91,11 @@ public class MotionEventHandler extends BasePositionEventHandler {
             device.setMotionTime(state.getEventTime());
             device.setMotionLatitude(state.getEventLatitude());
             device.setMotionLongitude(state.getEventLongitude());
-            try {
-                storage.updateObject(device, new Request(
-                        new Columns.Include(
-                                "motionStreak", "motionTime", "motionLatitude", "motionLongitude",
-                                "attributes"),
-                        new Condition.Equals("id", device.getId())));
-            } catch (StorageException e) {
-                LOGGER.warn("Update device motion error", e);
+            if (migrated) {
+                deviceStateWriter.submit(
+                        device, "motionStreak", "motionTime", "motionLatitude", "motionLongitude", "attributes");
+            } else {
+                deviceStateWriter.submit(device, "motionStreak", "motionTime", "motionLatitude", "motionLongitude");
             }
         }
         for (var event : state.getEvents()) {
@@ -120,14 +110,8 @@ public class MotionEventHandler extends BasePositionEventHandler {
                 state, lastPosition, position, position.getBoolean(Position.KEY_MOTION), tripsConfig);
         if (state.isChanged()) {
             state.toDevice(device);
-            try {
-                storage.updateObject(device, new Request(
-                        new Columns.Include(
-                                "motionStreak", "motionState", "motionPositionId", "motionTime", "motionDistance"),
-                        new Condition.Equals("id", device.getId())));
-            } catch (StorageException e) {
-                LOGGER.warn("Update device motion error", e);
-            }
+            deviceStateWriter.submit(
+                    device, "motionStreak", "motionState", "motionPositionId", "motionTime", "motionDistance");
         }
         if (state.getEvent() != null) {
             callback.eventDetected(state.getEvent());
@@ -17,10 +17,9 @@
 package org.traccar.handler.events;
 
 import jakarta.inject.Inject;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.DeviceStateWriter;
 import org.traccar.helper.model.AttributeUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Geofence;
@@ -28,26 +27,19 @@ import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 import org.traccar.session.state.OverspeedProcessor;
 import org.traccar.session.state.OverspeedState;
-import org.traccar.storage.Storage;
-import org.traccar.storage.StorageException;
-import org.traccar.storage.query.Columns;
-import org.traccar.storage.query.Condition;
-import org.traccar.storage.query.Request;
 
 public class OverspeedEventHandler extends BasePositionEventHandler {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(OverspeedEventHandler.class);
-
-    private final Storage storage;
+    private final DeviceStateWriter deviceStateWriter;
 
     private final long minimalDuration;
     private final boolean preferLowest;
     private final double multiplier;
 
     @Inject
-    public OverspeedEventHandler(Config config, CacheManager cacheManager, Storage storage) {
+    public OverspeedEventHandler(Config config, CacheManager cacheManager, DeviceStateWriter deviceStateWriter) {
         super(cacheManager);
-        this.storage = storage;
+        this.deviceStateWriter = deviceStateWriter;
         minimalDuration = config.getLong(Keys.EVENT_OVERSPEED_MINIMAL_DURATION) * 1000;
         preferLowest = config.getBoolean(Keys.EVENT_OVERSPEED_PREFER_LOWEST);
         multiplier = config.getDouble(Keys.EVENT_OVERSPEED_THRESHOLD_MULTIPLIER);
@@ -94,13 +86,7 @@ public class OverspeedEventHandler extends BasePositionEventHandler {
         OverspeedProcessor.updateState(state, position, speedLimit, multiplier, minimalDuration, overspeedGeofenceId);
         if (state.isChanged()) {
             state.toDevice(device);
-            try {
-                storage.updateObject(device, new Request(
-                        new Columns.Include("overspeedState", "overspeedTime", "overspeedGeofenceId"),
-                        new Condition.Equals("id", device.getId())));
-            } catch (StorageException e) {
-                LOGGER.warn("Update device overspeed error", e);
-            }
+            deviceStateWriter.submit(device, "overspeedState", "overspeedTime", "overspeedGeofenceId");
         }
         if (state.getEvent() != null) {
             callback.eventDetected(state.getEvent());
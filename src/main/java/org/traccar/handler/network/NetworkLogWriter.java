@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.handler.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.BufferUtil;
+import org.traccar.model.LogRecord;
+import org.traccar.session.ConnectionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Formats raw network messages and delivers them to the log and live log subscribers. With a queue configured, the
+ * work is done by a background thread and records are dropped instead of blocking network threads.
+ */
+@Singleton
+public class NetworkLogWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StandardLoggingHandler.class);
+
+    /**
+     * Pending log record. If {@code data} is set, the record text is formatted from it before delivery.
+     */
+    public record Entry(
+            String session, String protocol, boolean downstream, LogRecord record, byte[] data,
+            boolean log, boolean live) {
+    }
+
+    private final ConnectionManager connectionManager;
+    private final boolean decodeTextData;
+    private final BlockingQueue<Entry> queue;
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Inject
+    public NetworkLogWriter(Config config, ConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+        decodeTextData = config.getBoolean(Keys.LOGGER_TEXT_PROTOCOL);
+        int queueSize = config.getInteger(Keys.LOGGER_QUEUE_SIZE);
+        if (queueSize > 0) {
+            queue = new ArrayBlockingQueue<>(queueSize);
+            Thread thread = new Thread(this::run, "NetworkLogWriter");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            queue = null;
+        }
+    }
+
+    public boolean isAsync() {
+        return queue != null;
+    }
+
+    public boolean isLogEnabled() {
+        return LOGGER.isInfoEnabled();
+    }
+
+    public String format(ByteBuf data) {
+        if (decodeTextData && BufferUtil.isPrintable(data, data.readableBytes())) {
+            return data.getCharSequence(data.readerIndex(), data.readableBytes(), StandardCharsets.US_ASCII)
+                    .toString().replace("\r", "\\r").replace("\n", "\\n");
+        } else {
+            return ByteBufUtil.hexDump(data);
+        }
+    }
+
+    public void log(String session, String protocol, boolean downstream, LogRecord record) {
+        LOGGER.info("[{}: {}{}{}] {}",
+                session,
+                protocol,
+                downstream ? " > " : " < ",
+                record.getAddress().getHostString(),
+                record.getData());
+    }
+
+    public void submit(Entry entry) {
+        if (queue == null) {
+            deliver(entry);
+        } else if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void deliver(Entry entry) {
+        if (entry.data() != null) {
+            entry.record().setData(format(Unpooled.wrappedBuffer(entry.data())));
+        }
+        if (entry.log()) {
+            log(entry.session(), entry.protocol(), entry.downstream(), entry.record());
+        }
+        if (entry.live()) {
+            connectionManager.updateLog(entry.record());
+        }
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                Entry entry = queue.take();
+                long count = dropped.getAndSet(0);
+                if (count > 0) {
+                    LOGGER.warn("Network log queue full, {} records dropped", count);
+                }
+                deliver(entry);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.warn("Network log error", e);
+            }
+        }
+    }
+
+}
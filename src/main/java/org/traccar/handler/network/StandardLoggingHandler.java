@@ -27,13 +27,12 @@ import org.traccar.BaseProtocol;
 import org.traccar.NetworkMessage;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
-import org.traccar.helper.BufferUtil;
 import org.traccar.helper.NetworkUtil;
 import org.traccar.model.LogRecord;
 import org.traccar.protocol.Jt1078Protocol;
+import org.traccar.session.ConnectionKey;
 import org.traccar.session.ConnectionManager;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Set;
 
 public class StandardLoggingHandler extends ChannelDuplexHandler {
@@ -43,8 +42,10 @@ public class StandardLoggingHandler extends ChannelDuplexHandler {
     private final String protocol;
     private final int logLimit;
     private ConnectionManager connectionManager;
-    private boolean decodeTextData;
+    private NetworkLogWriter networkLogWriter;
+    private int sampling;
     private int logCount;
+    private long messageCount;
 
     public StandardLoggingHandler(String protocol) {
         this.protocol = protocol;
@@ -55,7 +56,7 @@ public class StandardLoggingHandler extends ChannelDuplexHandler {
 
     @Inject
     public void setConfig(Config config) {
-        decodeTextData = config.getBoolean(Keys.LOGGER_TEXT_PROTOCOL);
+        sampling = config.getInteger(Keys.LOGGER_SAMPLING);
     }
 
     @Inject
@@ -63,54 +64,68 @@ public class StandardLoggingHandler extends ChannelDuplexHandler {
         this.connectionManager = connectionManager;
     }
 
+    @Inject
+    public void setNetworkLogWriter(NetworkLogWriter networkLogWriter) {
+        this.networkLogWriter = networkLogWriter;
+    }
+
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
-        LogRecord record = createLogRecord(ctx, msg);
-        log(ctx, false, record);
+        NetworkLogWriter.Entry entry = createEntry(ctx, msg, false);
         super.channelRead(ctx, msg);
-        if (record != null) {
-            connectionManager.updateLog(record);
+        if (entry != null) {
+            networkLogWriter.submit(entry);
         }
     }
 
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
-        log(ctx, true, createLogRecord(ctx, msg));
+        NetworkLogWriter.Entry entry = createEntry(ctx, msg, true);
+        if (entry != null) {
+            networkLogWriter.submit(entry);
+        }
         super.write(ctx, msg, promise);
     }
 
-    private LogRecord createLogRecord(ChannelHandlerContext ctx, Object msg) {
-        if (msg instanceof NetworkMessage networkMessage) {
-            if (networkMessage.getMessage() instanceof ByteBuf data) {
-                LogRecord record = new LogRecord(ctx.channel().localAddress(), networkMessage.getRemoteAddress());
-                record.setProtocol(protocol);
-                if (decodeTextData && BufferUtil.isPrintable(data, data.readableBytes())) {
-                    record.setData(data.getCharSequence(
-                            data.readerIndex(), data.readableBytes(), StandardCharsets.US_ASCII).toString()
-                            .replace("\r", "\\r").replace("\n", "\\n"));
-                } else {
-                    record.setData(ByteBufUtil.hexDump(data));
-                }
-                return record;
+    /**
+     * Creates a log entry only if the message is going to be logged or a live subscriber can receive it. In
+     * synchronous mode the message is formatted and logged immediately, because the buffer is released once the
+     * message is handled; otherwise a copy of the data is formatted later on the writer thread.
+     */
+    private NetworkLogWriter.Entry createEntry(ChannelHandlerContext ctx, Object msg, boolean downstream) {
+        if (msg instanceof NetworkMessage networkMessage && networkMessage.getMessage() instanceof ByteBuf data) {
+            boolean log = checkLog(ctx);
+            boolean live = !downstream && connectionManager.isLogRequired(
+                    new ConnectionKey(ctx.channel(), networkMessage.getRemoteAddress()));
+            if (!log && !live) {
+                return null;
+            }
+            LogRecord record = new LogRecord(ctx.channel().localAddress(), networkMessage.getRemoteAddress());
+            record.setProtocol(protocol);
+            String session = NetworkUtil.session(ctx.channel());
+            if (networkLogWriter.isAsync()) {
+                return new NetworkLogWriter.Entry(
+                        session, protocol, downstream, record, ByteBufUtil.getBytes(data), log, live);
+            }
+            record.setData(networkLogWriter.format(data));
+            if (log) {
+                networkLogWriter.log(session, protocol, downstream, record);
+            }
+            if (live) {
+                return new NetworkLogWriter.Entry(session, protocol, downstream, record, null, false, true);
             }
         }
         return null;
     }
 
-    private void log(ChannelHandlerContext ctx, boolean downstream, LogRecord record) {
-        if (record != null) {
-            if (logLimit > 0 && ++logCount == logLimit + 1) {
-                LOGGER.info("[{}] logging throttled", NetworkUtil.session(ctx.channel()));
-            }
-            if (logLimit <= 0 || logCount <= logLimit) {
-                LOGGER.info("[{}: {}{}{}] {}",
-                        NetworkUtil.session(ctx.channel()),
-                        protocol,
-                        downstream ? " > " : " < ",
-                        record.getAddress().getHostString(),
-                        record.getData());
-            }
+    private boolean checkLog(ChannelHandlerContext ctx) {
+        if (!networkLogWriter.isLogEnabled() || (sampling > 1 && messageCount++ % sampling != 0)) {
+            return false;
+        }
+        if (logLimit > 0 && ++logCount == logLimit + 1) {
+            LOGGER.info("[{}] logging throttled", NetworkUtil.session(ctx.channel()));
         }
+        return logLimit <= 0 || logCount <= logLimit;
     }
 
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maximum of values recorded during the current and the previous time window. Reading does not reset anything, so
+ * several consumers, such as the API and metrics scrapes, see the same value.
+ */
+public class WindowedMaximum {
+
+    private final long window;
+    private final AtomicLong current = new AtomicLong();
+    private volatile long previous;
+    private volatile long windowStart = System.nanoTime();
+
+    public WindowedMaximum(long windowNanos) {
+        this.window = windowNanos;
+    }
+
+    private void rotate(long now) {
+        if (now - windowStart >= window) {
+            synchronized (this) {
+                long elapsed = now - windowStart;
+                if (elapsed >= window) {
+                    long value = current.getAndSet(0);
+                    previous = elapsed < 2 * window ? value : 0;
+                    windowStart = now;
+                }
+            }
+        }
+    }
+
+    public void record(long value) {
+        rotate(System.nanoTime());
+        current.accumulateAndGet(value, Math::max);
+    }
+
+    public long get() {
+        rotate(System.nanoTime());
+        return Math.max(current.get(), previous);
+    }
+
+}
@@ -32,6 +32,8 @@ import org.traccar.storage.query.Request;
 
 public final class AttributeUtil {
 
+    private static final Object NO_VALUE = new Object();
+
     private AttributeUtil() {}
 
     public interface Provider {
@@ -41,8 +43,25 @@ public final class AttributeUtil {
         Config getConfig();
     }
 
+    /**
+     * Resolved values are kept in the per-device settings array of the cache, so only the first lookup of each key
+     * walks the device, group chain, server and config. Values are immutable, so racing writes of the same slot are
+     * harmless.
+     */
+    @SuppressWarnings("unchecked")
     public static <T> T lookup(CacheManager cacheManager, ConfigKey<T> key, long deviceId) {
-        return lookup(new CacheProvider(cacheManager, deviceId), key);
+        int index = key.getSettingsIndex();
+        Object[] settings = cacheManager.getDeviceSettings(deviceId, index);
+        if (settings == null) {
+            return lookup(new CacheProvider(cacheManager, deviceId), key);
+        }
+        Object cached = settings[index];
+        if (cached == null) {
+            T value = lookup(new CacheProvider(cacheManager, deviceId), key);
+            settings[index] = value != null ? value : NO_VALUE;
+            return value;
+        }
+        return cached != NO_VALUE ? (T) cached : null;
     }
 
     @SuppressWarnings("unchecked")
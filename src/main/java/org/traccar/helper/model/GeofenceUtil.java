@@ -15,11 +15,9 @@
  */
 package org.traccar.helper.model;
 
-import org.traccar.model.Geofence;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public final class GeofenceUtil {
@@ -27,13 +25,7 @@ public final class GeofenceUtil {
     private GeofenceUtil() {}
 
     public static List<Long> getCurrentGeofences(CacheManager cacheManager, Position position) {
-        List<Long> result = new ArrayList<>();
-        for (Geofence geofence : cacheManager.getDeviceObjects(position.getDeviceId(), Geofence.class)) {
-            if (geofence.containsPosition(position)) {
-                result.add(geofence.getId());
-            }
-        }
-        return result;
+        return cacheManager.getDeviceGeofences(position.getDeviceId()).getGeofenceIds(position);
     }
 
 }
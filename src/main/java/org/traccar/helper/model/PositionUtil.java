@@ -19,6 +19,7 @@ import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
 import org.traccar.model.User;
+import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -28,6 +29,7 @@ import org.traccar.storage.query.Request;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -80,11 +82,23 @@ public final class PositionUtil {
                 new Order("fixTime", end, 1)));
     }
 
-    public static List<Position> getLatestPositions(Storage storage, long userId) throws StorageException {
+    private static Set<Long> getDeviceIds(Storage storage, long userId) throws StorageException {
         var devices = storage.getObjects(Device.class, new Request(
                 new Columns.Include("id"),
                 new Condition.Permission(User.class, userId, Device.class)));
-        var deviceIds = devices.stream().map(BaseModel::getId).collect(Collectors.toUnmodifiableSet());
+        return devices.stream().map(BaseModel::getId).collect(Collectors.toUnmodifiableSet());
+    }
+
+    public static List<Position> getLatestPositions(
+            Storage storage, CacheManager cacheManager, long userId) throws StorageException {
+        if (cacheManager.hasLatestPositions()) {
+            return cacheManager.getLatestPositions(getDeviceIds(storage, userId));
+        }
+        return getLatestPositions(storage, userId);
+    }
+
+    public static List<Position> getLatestPositions(Storage storage, long userId) throws StorageException {
+        var deviceIds = getDeviceIds(storage, userId);
 
         var positions = storage.getObjects(Position.class, new Request(
                 new Columns.All(), new Condition.LatestPositions()));
@@ -17,5 +17,19 @@ package org.traccar.model;
 
 import org.traccar.storage.StorageName;
 
+import java.util.Date;
+
 @StorageName("tc_revoked_tokens")
-public class RevokedToken extends BaseModel {}
+public class RevokedToken extends BaseModel {
+
+    private Date expiration;
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public void setExpiration(Date expiration) {
+        this.expiration = expiration;
+    }
+
+}
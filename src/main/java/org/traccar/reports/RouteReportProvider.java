@@ -21,10 +21,10 @@ import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.model.DeviceUtil;
 import org.traccar.helper.model.PositionUtil;
-import org.traccar.model.Device;
 import org.traccar.model.Group;
 import org.traccar.model.Position;
 import org.traccar.reports.common.ReportUtils;
+import org.traccar.reports.common.ReportWorkerPool;
 import org.traccar.reports.model.DeviceReportSection;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
@@ -51,14 +51,17 @@ public class RouteReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final ReportWorkerPool reportWorkerPool;
     private final Storage storage;
 
     private final Map<String, Integer> namesCount = new HashMap<>();
 
     @Inject
-    public RouteReportProvider(Config config, ReportUtils reportUtils, Storage storage) {
+    public RouteReportProvider(
+            Config config, ReportUtils reportUtils, ReportWorkerPool reportWorkerPool, Storage storage) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.reportWorkerPool = reportWorkerPool;
         this.storage = storage;
     }
 
@@ -87,16 +90,14 @@ public class RouteReportProvider {
             Date from, Date to) throws StorageException, IOException {
         int limit = config.getInteger(Keys.REPORT_MAX_POSITIONS);
 
-        ArrayList<DeviceReportSection> devicesRoutes = new ArrayList<>();
-        ArrayList<String> sheetNames = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        List<DeviceReportSection> devicesRoutes = reportWorkerPool.map(devices, device -> {
             List<Position> positions;
             try (var stream = PositionUtil.getPositionsStream(storage, device.getId(), from, to, limit)) {
                 positions = stream.toList();
             }
             DeviceReportSection deviceRoutes = new DeviceReportSection();
             deviceRoutes.setDeviceName(device.getName());
-            sheetNames.add(WorkbookUtil.createSafeSheetName(getUniqueSheetName(deviceRoutes.getDeviceName())));
             if (device.getGroupId() > 0) {
                 Group group = storage.getObject(Group.class, new Request(
                         new Columns.All(), new Condition.Equals("id", device.getGroupId())));
@@ -105,7 +106,11 @@ public class RouteReportProvider {
                 }
             }
             deviceRoutes.setObjects(positions);
-            devicesRoutes.add(deviceRoutes);
+            return deviceRoutes;
+        });
+        ArrayList<String> sheetNames = new ArrayList<>();
+        for (DeviceReportSection section : devicesRoutes) {
+            sheetNames.add(WorkbookUtil.createSafeSheetName(getUniqueSheetName(section.getDeviceName())));
         }
 
         File file = Paths.get(config.getString(Keys.TEMPLATES_ROOT), "export", "route.xlsx").toFile();
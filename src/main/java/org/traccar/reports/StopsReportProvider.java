@@ -20,9 +20,9 @@ import org.apache.poi.ss.util.WorkbookUtil;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.model.DeviceUtil;
-import org.traccar.model.Device;
 import org.traccar.model.Group;
 import org.traccar.reports.common.ReportUtils;
+import org.traccar.reports.common.ReportWorkerPool;
 import org.traccar.reports.model.DeviceReportSection;
 import org.traccar.reports.model.StopReportItem;
 import org.traccar.storage.Storage;
@@ -41,17 +41,21 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 public class StopsReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final ReportWorkerPool reportWorkerPool;
     private final Storage storage;
 
     @Inject
-    public StopsReportProvider(Config config, ReportUtils reportUtils, Storage storage) {
+    public StopsReportProvider(
+            Config config, ReportUtils reportUtils, ReportWorkerPool reportWorkerPool, Storage storage) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.reportWorkerPool = reportWorkerPool;
         this.storage = storage;
     }
 
@@ -61,8 +65,10 @@ public class StopsReportProvider {
         reportUtils.checkPeriodLimit(from, to);
 
         ArrayList<StopReportItem> result = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            result.addAll(reportUtils.detectTripsAndStops(device, from, to, StopReportItem.class));
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        for (var deviceResult : reportWorkerPool.map(
+                devices, device -> reportUtils.detectTripsAndStops(device, from, to, StopReportItem.class))) {
+            result.addAll(deviceResult);
         }
         return result;
     }
@@ -72,13 +78,11 @@ public class StopsReportProvider {
             Date from, Date to) throws StorageException, IOException {
         reportUtils.checkPeriodLimit(from, to);
 
-        ArrayList<DeviceReportSection> devicesStops = new ArrayList<>();
-        ArrayList<String> sheetNames = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        List<DeviceReportSection> devicesStops = reportWorkerPool.map(devices, device -> {
             Collection<StopReportItem> stops = reportUtils.detectTripsAndStops(device, from, to, StopReportItem.class);
             DeviceReportSection deviceStops = new DeviceReportSection();
             deviceStops.setDeviceName(device.getName());
-            sheetNames.add(WorkbookUtil.createSafeSheetName(deviceStops.getDeviceName()));
             if (device.getGroupId() > 0) {
                 Group group = storage.getObject(Group.class, new Request(
                         new Columns.All(), new Condition.Equals("id", device.getGroupId())));
@@ -87,7 +91,11 @@ public class StopsReportProvider {
                 }
             }
             deviceStops.setObjects(stops);
-            devicesStops.add(deviceStops);
+            return deviceStops;
+        });
+        ArrayList<String> sheetNames = new ArrayList<>();
+        for (DeviceReportSection section : devicesStops) {
+            sheetNames.add(WorkbookUtil.createSafeSheetName(section.getDeviceName()));
         }
 
         File file = Paths.get(config.getString(Keys.TEMPLATES_ROOT), "export", "stops.xlsx").toFile();
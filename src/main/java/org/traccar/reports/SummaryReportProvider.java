@@ -20,18 +20,24 @@ import org.jxls.util.JxlsHelper;
 import org.traccar.api.security.PermissionsService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.DeviceSummaryManager;
 import org.traccar.helper.UnitsConverter;
 import org.traccar.helper.model.AttributeUtil;
 import org.traccar.helper.model.DeviceUtil;
 import org.traccar.helper.model.PositionUtil;
 import org.traccar.helper.model.UserUtil;
 import org.traccar.model.Device;
+import org.traccar.model.DeviceSummary;
 import org.traccar.model.Position;
 import org.traccar.reports.common.ReportUtils;
+import org.traccar.reports.common.ReportWorkerPool;
 import org.traccar.reports.common.TripsConfig;
 import org.traccar.reports.model.SummaryReportItem;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
 import java.io.File;
@@ -52,16 +58,104 @@ public class SummaryReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final ReportWorkerPool reportWorkerPool;
     private final PermissionsService permissionsService;
     private final Storage storage;
+    private final DeviceSummaryManager deviceSummaryManager;
 
     @Inject
     public SummaryReportProvider(
-            Config config, ReportUtils reportUtils, PermissionsService permissionsService, Storage storage) {
+            Config config, ReportUtils reportUtils, ReportWorkerPool reportWorkerPool,
+            PermissionsService permissionsService, Storage storage, DeviceSummaryManager deviceSummaryManager) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.reportWorkerPool = reportWorkerPool;
         this.permissionsService = permissionsService;
         this.storage = storage;
+        this.deviceSummaryManager = deviceSummaryManager;
+    }
+
+    void scanPositions(
+            Device device, Date from, Date to, Position[] edges, SummaryReportItem result) throws StorageException {
+        try (var positions = PositionUtil.getPositionsStream(storage, device.getId(), from, to, 0)) {
+            for (var iterator = positions.iterator(); iterator.hasNext();) {
+                Position position = iterator.next();
+                if (edges[0] == null) {
+                    edges[0] = position;
+                }
+                if (position.getSpeed() > result.getMaxSpeed()) {
+                    result.setMaxSpeed(position.getSpeed());
+                }
+                edges[1] = position;
+            }
+        }
+    }
+
+    private Position getPosition(long positionId) throws StorageException {
+        return storage.getObject(Position.class, new Request(
+                new Columns.All(), new Condition.Equals("id", positionId)));
+    }
+
+    /**
+     * Uses daily summaries for fully covered UTC days and scans raw positions only for the remaining periods. Returns
+     * null if the range does not contain a full day or a referenced position is no longer available. With complete
+     * set, it also returns null if any full day has no summary, so that long ranges never fall back to a full scan.
+     */
+    Position[] calculateRollup(
+            Device device, Date from, Date to, boolean complete, SummaryReportItem result) throws StorageException {
+
+        long dayMs = DeviceSummaryManager.DAY_MS;
+        long firstDay = DeviceSummaryManager.getDay(from.getTime() + dayMs - 1);
+        long lastDay = DeviceSummaryManager.getDay(to.getTime() + 1) - dayMs;
+        if (firstDay > lastDay) {
+            return null;
+        }
+
+        var summaries = deviceSummaryManager.getSummaries(device.getId(), firstDay, lastDay);
+        if (complete && summaries.size() < (lastDay - firstDay) / dayMs + 1) {
+            return null;
+        }
+
+        Position[] edges = new Position[2];
+        long lastPositionId = 0;
+        if (from.getTime() < firstDay) {
+            scanPositions(device, from, new Date(firstDay - 1), edges, result);
+        }
+        for (long day = firstDay; day <= lastDay; day += dayMs) {
+            DeviceSummary summary = summaries.get(day);
+            if (summary == null) {
+                Position previous = edges[1];
+                scanPositions(device, new Date(day), new Date(day + dayMs - 1), edges, result);
+                if (edges[1] != previous) {
+                    lastPositionId = 0;
+                }
+            } else if (summary.getPositions() > 0) {
+                if (edges[0] == null) {
+                    edges[0] = getPosition(summary.getStartPositionId());
+                    if (edges[0] == null) {
+                        return null;
+                    }
+                }
+                lastPositionId = summary.getEndPositionId();
+                if (summary.getMaxSpeed() > result.getMaxSpeed()) {
+                    result.setMaxSpeed(summary.getMaxSpeed());
+                }
+            }
+        }
+        if (to.getTime() >= lastDay + dayMs) {
+            Position previous = edges[1];
+            scanPositions(device, new Date(lastDay + dayMs), to, edges, result);
+            if (edges[1] != previous) {
+                lastPositionId = 0;
+            }
+        }
+        if (lastPositionId != 0) {
+            edges[1] = getPosition(lastPositionId);
+            if (edges[1] == null) {
+                return null;
+            }
+        }
+        return edges;
     }
 
     private Collection<SummaryReportItem> calculateDeviceResult(
@@ -71,25 +165,21 @@ public class SummaryReportProvider {
         result.setDeviceId(device.getId());
         result.setDeviceName(device.getName());
 
-        Position first = null;
-        Position last = null;
-        if (fast) {
-            first = PositionUtil.getEdgePosition(storage, device.getId(), from, to, false);
-            last = PositionUtil.getEdgePosition(storage, device.getId(), from, to, true);
-        } else {
-            try (var positions = PositionUtil.getPositionsStream(storage, device.getId(), from, to, 0)) {
-                for (var iterator = positions.iterator(); iterator.hasNext();) {
-                    Position position = iterator.next();
-                    if (first == null) {
-                        first = position;
-                    }
-                    if (position.getSpeed() > result.getMaxSpeed()) {
-                        result.setMaxSpeed(position.getSpeed());
-                    }
-                    last = position;
-                }
+        Position[] edges = null;
+        if (deviceSummaryManager.isEnabled()) {
+            edges = calculateRollup(device, from, to, fast, result);
+        }
+        if (edges == null) {
+            edges = new Position[2];
+            if (fast) {
+                edges[0] = PositionUtil.getEdgePosition(storage, device.getId(), from, to, false);
+                edges[1] = PositionUtil.getEdgePosition(storage, device.getId(), from, to, true);
+            } else {
+                scanPositions(device, from, to, edges, result);
             }
         }
+        Position first = edges[0];
+        Position last = edges[1];
 
         if (first != null && last != null) {
             TripsConfig tripsConfig = new TripsConfig(
@@ -150,9 +240,10 @@ public class SummaryReportProvider {
         var tz = UserUtil.getTimezone(permissionsService.getServer(), permissionsService.getUser(userId)).toZoneId();
 
         ArrayList<SummaryReportItem> result = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            var deviceResults = calculateDeviceResults(
-                    device, from.toInstant().atZone(tz), to.toInstant().atZone(tz), daily);
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        var devicesResults = reportWorkerPool.map(devices, device -> calculateDeviceResults(
+                device, from.toInstant().atZone(tz), to.toInstant().atZone(tz), daily));
+        for (var deviceResults : devicesResults) {
             for (SummaryReportItem summaryReport : deviceResults) {
                 if (summaryReport.getStartTime() != null && summaryReport.getEndTime() != null) {
                     result.add(summaryReport);
@@ -20,9 +20,9 @@ import org.apache.poi.ss.util.WorkbookUtil;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.model.DeviceUtil;
-import org.traccar.model.Device;
 import org.traccar.model.Group;
 import org.traccar.reports.common.ReportUtils;
+import org.traccar.reports.common.ReportWorkerPool;
 import org.traccar.reports.model.DeviceReportSection;
 import org.traccar.reports.model.TripReportItem;
 import org.traccar.storage.Storage;
@@ -41,17 +41,21 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 public class TripsReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final ReportWorkerPool reportWorkerPool;
     private final Storage storage;
 
     @Inject
-    public TripsReportProvider(Config config, ReportUtils reportUtils, Storage storage) {
+    public TripsReportProvider(
+            Config config, ReportUtils reportUtils, ReportWorkerPool reportWorkerPool, Storage storage) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.reportWorkerPool = reportWorkerPool;
         this.storage = storage;
     }
 
@@ -61,8 +65,10 @@ public class TripsReportProvider {
         reportUtils.checkPeriodLimit(from, to);
 
         ArrayList<TripReportItem> result = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            result.addAll(reportUtils.detectTripsAndStops(device, from, to, TripReportItem.class));
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        for (var deviceResult : reportWorkerPool.map(
+                devices, device -> reportUtils.detectTripsAndStops(device, from, to, TripReportItem.class))) {
+            result.addAll(deviceResult);
         }
         return result;
     }
@@ -72,13 +78,11 @@ public class TripsReportProvider {
             Date from, Date to) throws StorageException, IOException {
         reportUtils.checkPeriodLimit(from, to);
 
-        ArrayList<DeviceReportSection> devicesTrips = new ArrayList<>();
-        ArrayList<String> sheetNames = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        List<DeviceReportSection> devicesTrips = reportWorkerPool.map(devices, device -> {
             Collection<TripReportItem> trips = reportUtils.detectTripsAndStops(device, from, to, TripReportItem.class);
             DeviceReportSection deviceTrips = new DeviceReportSection();
             deviceTrips.setDeviceName(device.getName());
-            sheetNames.add(WorkbookUtil.createSafeSheetName(deviceTrips.getDeviceName()));
             if (device.getGroupId() > 0) {
                 Group group = storage.getObject(Group.class, new Request(
                         new Columns.All(), new Condition.Equals("id", device.getGroupId())));
@@ -87,7 +91,11 @@ public class TripsReportProvider {
                 }
             }
             deviceTrips.setObjects(trips);
-            devicesTrips.add(deviceTrips);
+            return deviceTrips;
+        });
+        ArrayList<String> sheetNames = new ArrayList<>();
+        for (DeviceReportSection section : devicesTrips) {
+            sheetNames.add(WorkbookUtil.createSafeSheetName(section.getDeviceName()));
         }
 
         File file = Paths.get(config.getString(Keys.TEMPLATES_ROOT), "export", "trips.xlsx").toFile();
@@ -64,10 +64,8 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 public class ReportUtils {
 
@@ -292,6 +290,33 @@ public class ReportUtils {
         }
     }
 
+    private static Position findPosition(Deque<Position> positions, Position current, long positionId) {
+        if (current.getId() == positionId) {
+            return current;
+        }
+        for (Position position : positions) {
+            if (position.getId() == positionId) {
+                return position;
+            }
+        }
+        return null;
+    }
+
+    private <T extends BaseReportItem> Position processEvent(
+            Device device, Event event, Position eventPosition, Position startPosition, double maxSpeed,
+            boolean trips, boolean ignoreOdometer, Class<T> reportClass, List<T> result) throws StorageException {
+
+        boolean motion = event.getType().equals(Event.TYPE_DEVICE_MOVING);
+        if (motion == trips) {
+            return eventPosition;
+        }
+        if (startPosition != null && eventPosition != null) {
+            result.add(calculateTripOrStop(
+                    device, startPosition, eventPosition, maxSpeed, ignoreOdometer, reportClass));
+        }
+        return null;
+    }
+
     public <T extends BaseReportItem> List<T> slowTripsAndStops(
             Device device, Date from, Date to, Class<T> reportClass) throws StorageException {
 
@@ -302,8 +327,6 @@ public class ReportUtils {
         boolean trips = reportClass.equals(TripReportItem.class);
         boolean useNewLogic = config.getBoolean(Keys.REPORT_TRIP_NEW_LOGIC);
 
-        List<Event> events = new ArrayList<>();
-        Map<Long, Position> positionMap = new HashMap<>();
         Position startPosition = null;
         double maxSpeed = 0;
         Position lastPosition = null;
@@ -329,12 +352,13 @@ public class ReportUtils {
                         motionState.setEventPosition(position);
                     }
                     maxSpeed = Math.max(maxSpeed, position.getSpeed());
-                    positionMap.put(position.getId(), position);
                     NewMotionProcessor.updateState(motionState, position, minDistance, minDuration, stopGap);
                     if (!motionState.getEvents().isEmpty()) {
                         for (Event event : motionState.getEvents()) {
-                            event.set("maxSpeed", maxSpeed);
-                            events.add(event);
+                            Position eventPosition = findPosition(motionPositions, position, event.getPositionId());
+                            startPosition = processEvent(
+                                    device, event, eventPosition, startPosition, maxSpeed,
+                                    trips, ignoreOdometer, reportClass, result);
                         }
                         maxSpeed = 0;
                     }
@@ -355,6 +379,7 @@ public class ReportUtils {
             }
         } else {
             MotionState motionState = new MotionState();
+            Position motionPosition = null;
 
             try (var stream = PositionUtil.getPositionsStream(storage, device.getId(), from, to, 0)) {
                 for (var iterator = stream.iterator(); iterator.hasNext();) {
@@ -369,34 +394,29 @@ public class ReportUtils {
                         motionState.setMotionState(initialValue);
                     }
                     maxSpeed = Math.max(maxSpeed, position.getSpeed());
-                    positionMap.put(position.getId(), position);
                     boolean motion = position.getBoolean(Position.KEY_MOTION);
                     MotionProcessor.updateState(motionState, lastPosition, position, motion, tripsConfig);
-                    if (motionState.getEvent() != null) {
-                        motionState.getEvent().set("maxSpeed", maxSpeed);
-                        events.add(motionState.getEvent());
+                    Event event = motionState.getEvent();
+                    if (event != null) {
+                        Position eventPosition = null;
+                        if (motionPosition != null && motionPosition.getId() == event.getPositionId()) {
+                            eventPosition = motionPosition;
+                        } else if (lastPosition != null && lastPosition.getId() == event.getPositionId()) {
+                            eventPosition = lastPosition;
+                        }
+                        startPosition = processEvent(
+                                device, event, eventPosition, startPosition, maxSpeed,
+                                trips, ignoreOdometer, reportClass, result);
                         maxSpeed = 0;
                     }
+                    if (motionState.getMotionPositionId() == position.getId()) {
+                        motionPosition = position;
+                    }
                     lastPosition = position;
                 }
             }
         }
 
-        for (Event event : events) {
-            boolean motion = event.getType().equals(Event.TYPE_DEVICE_MOVING);
-            if (motion == trips) {
-                startPosition = positionMap.get(event.getPositionId());
-            } else if (startPosition != null) {
-                Position endPosition = positionMap.get(event.getPositionId());
-                if (endPosition != null) {
-                    result.add(calculateTripOrStop(
-                            device, startPosition, endPosition,
-                            event.getDouble("maxSpeed"), ignoreOdometer, reportClass));
-                }
-                startPosition = null;
-            }
-        }
-
         if (startPosition != null) {
             result.add(calculateTripOrStop(
                     device, startPosition, lastPosition, maxSpeed, ignoreOdometer, reportClass));
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.reports.common;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.storage.StorageException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded worker pool for per-device report sections. Results are always returned in device order.
+ */
+@Singleton
+public class ReportWorkerPool {
+
+    public interface DeviceTask<R> {
+        R compute(Device device) throws StorageException;
+    }
+
+    private final ExecutorService executorService;
+
+    @Inject
+    public ReportWorkerPool(Config config) {
+        int workers = config.getInteger(Keys.REPORT_WORKERS);
+        if (workers > 1) {
+            AtomicInteger counter = new AtomicInteger();
+            executorService = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "ReportWorker-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            executorService = null;
+        }
+    }
+
+    public <R> List<R> map(Collection<Device> devices, DeviceTask<R> task) throws StorageException {
+        List<R> results = new ArrayList<>(devices.size());
+        if (executorService == null || devices.size() <= 1) {
+            for (Device device : devices) {
+                results.add(task.compute(device));
+            }
+            return results;
+        }
+
+        List<Future<R>> futures = new ArrayList<>(devices.size());
+        for (Device device : devices) {
+            futures.add(executorService.submit(() -> task.compute(device)));
+        }
+        try {
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof StorageException storageException) {
+                throw storageException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new StorageException(cause);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+
+}
@@ -51,7 +51,12 @@ public class ScheduleManager implements LifecycleObject {
                 TaskReports.class,
                 TaskDeviceInactivityCheck.class,
                 TaskSessionTimeout.class,
-                TaskWebSocketKeepalive.class)
+                TaskWebSocketKeepalive.class,
+                TaskDeviceSummaries.class,
+                TaskDeviceSummaryFlush.class,
+                TaskPartitions.class,
+                TaskStatistics.class,
+                TaskRevokedTokens.class)
                 .forEachOrdered(taskClass -> {
                     var task = injector.getInstance(taskClass);
                     if (task.multipleInstances() || !secondary) {
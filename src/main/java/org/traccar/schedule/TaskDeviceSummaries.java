@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.DeviceSummaryManager;
+import org.traccar.model.Device;
+import org.traccar.model.DeviceSummary;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TaskDeviceSummaries extends SingleScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskDeviceSummaries.class);
+
+    private static final long CHECK_PERIOD_HOURS = 1;
+    private static final int MAX_REBUILDS = 1000;
+
+    private final Storage storage;
+    private final DeviceSummaryManager deviceSummaryManager;
+    private final int days;
+
+    @Inject
+    public TaskDeviceSummaries(Config config, Storage storage, DeviceSummaryManager deviceSummaryManager) {
+        this.storage = storage;
+        this.deviceSummaryManager = deviceSummaryManager;
+        days = config.getInteger(Keys.REPORT_SUMMARY_ROLLUP_DAYS);
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (deviceSummaryManager.isEnabled()) {
+            executor.scheduleAtFixedRate(this, CHECK_PERIOD_HOURS, CHECK_PERIOD_HOURS, TimeUnit.HOURS);
+        }
+    }
+
+    @Override
+    public void run() {
+        long today = DeviceSummaryManager.getDay(System.currentTimeMillis());
+        long fromDay = today - days * DeviceSummaryManager.DAY_MS;
+        long toDay = today - DeviceSummaryManager.DAY_MS;
+        try {
+            Map<Long, Set<Long>> existing = new HashMap<>();
+            for (DeviceSummary summary : storage.getObjects(DeviceSummary.class, new Request(
+                    new Columns.Include("deviceId", "periodStart"),
+                    new Condition.Between("periodStart", new Date(fromDay), new Date(toDay))))) {
+                existing.computeIfAbsent(summary.getDeviceId(), key -> new HashSet<>())
+                        .add(summary.getPeriodStart().getTime());
+            }
+            int rebuilds = 0;
+            for (Device device : storage.getObjects(Device.class, new Request(new Columns.Include("id")))) {
+                Set<Long> deviceDays = existing.getOrDefault(device.getId(), Set.of());
+                for (long day = fromDay; day <= toDay; day += DeviceSummaryManager.DAY_MS) {
+                    if (!deviceDays.contains(day)) {
+                        if (rebuilds++ >= MAX_REBUILDS) {
+                            LOGGER.info("Device summary rebuild limit reached, continuing in next run");
+                            return;
+                        }
+                        deviceSummaryManager.rebuild(device.getId(), day);
+                    }
+                }
+            }
+        } catch (StorageException e) {
+            LOGGER.warn("Failed to rebuild device summaries", e);
+        }
+    }
+
+}
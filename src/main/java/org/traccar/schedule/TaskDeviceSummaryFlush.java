@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import org.traccar.database.DeviceSummaryManager;
+
+import jakarta.inject.Inject;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes device summaries collected in memory by the position pipeline. Runs on every node, because each node only
+ * holds the days of its own connected devices.
+ */
+public class TaskDeviceSummaryFlush implements ScheduleTask {
+
+    private static final long PERIOD_MINUTES = 1;
+
+    private final DeviceSummaryManager deviceSummaryManager;
+
+    @Inject
+    public TaskDeviceSummaryFlush(DeviceSummaryManager deviceSummaryManager) {
+        this.deviceSummaryManager = deviceSummaryManager;
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (deviceSummaryManager.isEnabled()) {
+            executor.scheduleAtFixedRate(this, PERIOD_MINUTES, PERIOD_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    public void run() {
+        deviceSummaryManager.flush();
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.database.PartitionManager;
+import org.traccar.storage.StorageException;
+
+import java.sql.SQLException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TaskPartitions extends SingleScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskPartitions.class);
+
+    private static final long CHECK_PERIOD_HOURS = 6;
+
+    private final PartitionManager partitionManager;
+
+    @Inject
+    public TaskPartitions(PartitionManager partitionManager) {
+        this.partitionManager = partitionManager;
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (partitionManager.isEnabled()) {
+            executor.scheduleAtFixedRate(this, 0, CHECK_PERIOD_HOURS, TimeUnit.HOURS);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            partitionManager.maintain();
+        } catch (SQLException | StorageException e) {
+            LOGGER.warn("Failed to maintain partitions", e);
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.api.signature.TokenManager;
+import org.traccar.storage.StorageException;
+
+import jakarta.inject.Inject;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TaskRevokedTokens implements ScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskRevokedTokens.class);
+
+    private static final long PERIOD_HOURS = 6;
+
+    private final TokenManager tokenManager;
+
+    @Inject
+    public TaskRevokedTokens(TokenManager tokenManager) {
+        this.tokenManager = tokenManager;
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        executor.scheduleAtFixedRate(this, PERIOD_HOURS, PERIOD_HOURS, TimeUnit.HOURS);
+    }
+
+    @Override
+    public void run() {
+        try {
+            tokenManager.pruneRevokedTokens();
+        } catch (StorageException e) {
+            LOGGER.warn("Revoked tokens pruning error", e);
+        }
+    }
+
+}
@@ -24,11 +24,13 @@ import org.traccar.broadcast.BroadcastService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.database.DeviceLookupService;
+import org.traccar.database.DeviceStateWriter;
 import org.traccar.database.NotificationManager;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
 import org.traccar.model.LogRecord;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.Position;
 import org.traccar.model.User;
 import org.traccar.session.cache.CacheManager;
@@ -45,13 +47,14 @@ import java.net.SocketAddress;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 @Singleton
 public class ConnectionManager implements BroadcastInterface {
@@ -75,25 +78,39 @@ public class ConnectionManager implements BroadcastInterface {
     private final NotificationManager notificationManager;
     private final BroadcastService broadcastService;
     private final DeviceLookupService deviceLookupService;
+    private final DeviceStateWriter deviceStateWriter;
 
-    private final Map<Long, Set<UpdateListener>> listeners = new HashMap<>();
-    private final Map<Long, Set<Long>> userDevices = new HashMap<>();
-    private final Map<Long, Set<Long>> deviceUsers = new HashMap<>();
+    private final Object registryLock = new Object();
+    private final Map<Long, Set<UpdateListener>> listeners = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> userDevices = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> deviceUsers = new ConcurrentHashMap<>();
+    private final Set<UpdateListener> logListeners = ConcurrentHashMap.newKeySet();
+    private final ExecutorService[] dispatchers;
 
     @Inject
     public ConnectionManager(
             Config config, CacheManager cacheManager, Storage storage,
             NotificationManager notificationManager, BroadcastService broadcastService,
-            DeviceLookupService deviceLookupService) {
+            DeviceLookupService deviceLookupService, DeviceStateWriter deviceStateWriter) {
         this.config = config;
         this.cacheManager = cacheManager;
         this.storage = storage;
         this.notificationManager = notificationManager;
         this.broadcastService = broadcastService;
         this.deviceLookupService = deviceLookupService;
+        this.deviceStateWriter = deviceStateWriter;
         deviceTimeout = config.getLong(Keys.STATUS_TIMEOUT);
         showUnknownDevices = config.getBoolean(Keys.WEB_SHOW_UNKNOWN_DEVICES);
         statusEventsEnabled = config.getBoolean(Keys.EVENT_STATUS_ENABLE);
+        dispatchers = new ExecutorService[Math.max(config.getInteger(Keys.WEB_SOCKET_DISPATCH_THREADS), 0)];
+        for (int i = 0; i < dispatchers.length; i++) {
+            String name = "UpdateDispatcher-" + (i + 1);
+            dispatchers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
         broadcastService.registerListener(this);
     }
 
@@ -198,11 +215,16 @@ public class ConnectionManager implements BroadcastInterface {
         try {
             device.setId(storage.addObject(device, new Request(new Columns.Exclude("id"))));
             LOGGER.info("Automatically registered " + uniqueId);
-            return device;
         } catch (StorageException e) {
             LOGGER.warn("Automatic registration failed", e);
             return null;
         }
+        try {
+            cacheManager.invalidateObject(true, Device.class, device.getId(), ObjectOperation.ADD);
+        } catch (Exception e) {
+            LOGGER.warn("Device invalidation error", e);
+        }
+        return device;
     }
 
     public void deviceDisconnected(Channel channel, boolean supportsOffline) {
@@ -277,105 +299,142 @@ public class ConnectionManager implements BroadcastInterface {
             device.setLastUpdate(time);
         }
 
-        try {
-            storage.updateObject(device, new Request(
-                    new Columns.Include("status", "lastUpdate"),
-                    new Condition.Equals("id", deviceId)));
-        } catch (StorageException e) {
-            LOGGER.warn("Update device status error", e);
-        }
+        deviceStateWriter.submit(device);
 
         updateDevice(true, device);
     }
 
-    public synchronized void sendKeepalive() {
-        for (Set<UpdateListener> userListeners : listeners.values()) {
-            for (UpdateListener listener : userListeners) {
-                listener.onKeepalive();
-            }
+    private void dispatch(long userId, Consumer<UpdateListener> action) {
+        Set<UpdateListener> userListeners = listeners.get(userId);
+        if (userListeners == null) {
+            return;
+        }
+        if (dispatchers.length == 0) {
+            userListeners.forEach(action);
+        } else {
+            dispatchers[(int) Math.floorMod(userId, (long) dispatchers.length)].execute(() -> {
+                for (UpdateListener listener : userListeners) {
+                    try {
+                        action.accept(listener);
+                    } catch (RuntimeException e) {
+                        LOGGER.warn("Update listener error", e);
+                    }
+                }
+            });
+        }
+    }
+
+    public void sendKeepalive() {
+        for (long userId : listeners.keySet()) {
+            dispatch(userId, UpdateListener::onKeepalive);
         }
     }
 
     @Override
-    public synchronized void updateDevice(boolean local, Device device) {
+    public void updateDevice(boolean local, Device device) {
         if (local) {
             broadcastService.updateDevice(true, device);
         } else if (Device.STATUS_ONLINE.equals(device.getStatus())) {
             removeDeviceSession(device.getId());
         }
         for (long userId : deviceUsers.getOrDefault(device.getId(), Collections.emptySet())) {
-            Set<UpdateListener> userListeners = listeners.get(userId);
-            if (userListeners != null) {
-                for (UpdateListener listener : userListeners) {
-                    listener.onUpdateDevice(device);
-                }
-            }
+            dispatch(userId, listener -> listener.onUpdateDevice(device));
         }
     }
 
     @Override
-    public synchronized void updatePosition(boolean local, Position position) {
+    public void updatePosition(boolean local, Position position) {
         if (local) {
             broadcastService.updatePosition(true, position);
         }
         for (long userId : deviceUsers.getOrDefault(position.getDeviceId(), Collections.emptySet())) {
-            Set<UpdateListener> userListeners = listeners.get(userId);
-            if (userListeners != null) {
-                for (UpdateListener listener : userListeners) {
-                    listener.onUpdatePosition(position);
-                }
-            }
+            dispatch(userId, listener -> listener.onUpdatePosition(position));
         }
     }
 
     @Override
-    public synchronized void updateEvent(boolean local, long userId, Event event) {
+    public void updateEvent(boolean local, long userId, Event event) {
         if (local) {
             broadcastService.updateEvent(true, userId, event);
         }
-        Set<UpdateListener> userListeners = listeners.get(userId);
-        if (userListeners != null) {
-            for (UpdateListener listener : userListeners) {
-                listener.onUpdateEvent(event);
-            }
-        }
+        dispatch(userId, listener -> listener.onUpdateEvent(event));
     }
 
     @Override
-    public synchronized <T1 extends BaseModel, T2 extends BaseModel> void invalidatePermission(
+    public <T1 extends BaseModel, T2 extends BaseModel> void invalidatePermission(
             boolean local, Class<T1> clazz1, long id1, Class<T2> clazz2, long id2, boolean link) {
-        if (clazz1.equals(User.class) && clazz2.equals(Device.class) && listeners.containsKey(id1)) {
-            if (link) {
-                userDevices.get(id1).add(id2);
-                deviceUsers.computeIfAbsent(id2, id -> new HashSet<>()).add(id1);
-            } else {
-                userDevices.get(id1).remove(id2);
-                deviceUsers.computeIfPresent(id2, (x, userIds) -> {
-                    userIds.remove(id1);
-                    return userIds.isEmpty() ? null : userIds;
-                });
+        if (clazz1.equals(User.class) && clazz2.equals(Device.class)) {
+            synchronized (registryLock) {
+                Set<Long> devices = userDevices.get(id1);
+                if (devices == null) {
+                    return;
+                }
+                if (link) {
+                    devices.add(id2);
+                    deviceUsers.computeIfAbsent(id2, id -> ConcurrentHashMap.newKeySet()).add(id1);
+                } else {
+                    devices.remove(id2);
+                    removeDeviceUser(id2, id1);
+                }
             }
         }
     }
 
-    public synchronized void updateLog(LogRecord record) {
+    private void removeDeviceUser(long deviceId, long userId) {
+        deviceUsers.computeIfPresent(deviceId, (x, userIds) -> {
+            userIds.remove(userId);
+            return userIds.isEmpty() ? null : userIds;
+        });
+    }
+
+    public void updateLogListener(UpdateListener listener, boolean enabled) {
+        if (enabled) {
+            logListeners.add(listener);
+        } else {
+            logListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Check if live log records for the connection can reach any subscriber. Connections without an identified device
+     * are included whenever there is a subscriber, because the device is often identified by the message itself.
+     */
+    public boolean isLogRequired(ConnectionKey connectionKey) {
+        if (logListeners.isEmpty()) {
+            return false;
+        }
+        var sessions = sessionsByEndpoint.get(connectionKey);
+        if (sessions == null || sessions.isEmpty()) {
+            return true;
+        }
+        for (DeviceSession deviceSession : sessions.values()) {
+            for (long userId : deviceUsers.getOrDefault(deviceSession.getDeviceId(), Set.of())) {
+                for (UpdateListener listener : listeners.getOrDefault(userId, Set.of())) {
+                    if (logListeners.contains(listener)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    public void updateLog(LogRecord record) {
         var sessions = sessionsByEndpoint.getOrDefault(record.getConnectionKey(), Map.of());
         if (sessions.isEmpty()) {
             UnknownEntry unknown = unknownByEndpoint.get(record.getConnectionKey());
             if (unknown != null && showUnknownDevices) {
                 record.setUniqueId(unknown.uniqueId());
-                listeners.values().stream()
-                        .flatMap(Set::stream)
-                        .forEach((listener) -> listener.onUpdateLog(record));
+                for (long userId : listeners.keySet()) {
+                    dispatch(userId, listener -> listener.onUpdateLog(record));
+                }
             }
         } else {
             var firstEntry = sessions.entrySet().iterator().next();
             record.setUniqueId(firstEntry.getKey());
             record.setDeviceId(firstEntry.getValue().getDeviceId());
             for (long userId : deviceUsers.getOrDefault(record.getDeviceId(), Set.of())) {
-                for (UpdateListener listener : listeners.getOrDefault(userId, Set.of())) {
-                    listener.onUpdateLog(record);
-                }
+                dispatch(userId, listener -> listener.onUpdateLog(record));
             }
         }
     }
@@ -388,30 +447,37 @@ public class ConnectionManager implements BroadcastInterface {
         void onUpdateLog(LogRecord record);
     }
 
-    public synchronized void addListener(long userId, UpdateListener listener) throws StorageException {
-        var set = listeners.get(userId);
-        if (set == null) {
-            set = new HashSet<>();
-            listeners.put(userId, set);
-
-            var devices = storage.getObjects(Device.class, new Request(
-                    new Columns.Include("id"), new Condition.Permission(User.class, userId, Device.class)));
-            userDevices.put(userId, devices.stream().map(BaseModel::getId).collect(Collectors.toSet()));
-            devices.forEach(device -> deviceUsers.computeIfAbsent(device.getId(), id -> new HashSet<>()).add(userId));
+    public void addListener(long userId, UpdateListener listener) throws StorageException {
+        synchronized (registryLock) {
+            var set = listeners.get(userId);
+            if (set == null) {
+                var devices = storage.getObjects(Device.class, new Request(
+                        new Columns.Include("id"), new Condition.Permission(User.class, userId, Device.class)));
+                Set<Long> deviceIds = ConcurrentHashMap.newKeySet();
+                for (Device device : devices) {
+                    deviceIds.add(device.getId());
+                    deviceUsers.computeIfAbsent(device.getId(), id -> ConcurrentHashMap.newKeySet()).add(userId);
+                }
+                userDevices.put(userId, deviceIds);
+                set = new CopyOnWriteArraySet<>();
+                listeners.put(userId, set);
+            }
+            set.add(listener);
         }
-        set.add(listener);
     }
 
-    public synchronized void removeListener(long userId, UpdateListener listener) {
-        var set = listeners.get(userId);
-        set.remove(listener);
-        if (set.isEmpty()) {
-            listeners.remove(userId);
-
-            userDevices.remove(userId).forEach(deviceId -> deviceUsers.computeIfPresent(deviceId, (x, userIds) -> {
-                userIds.remove(userId);
-                return userIds.isEmpty() ? null : userIds;
-            }));
+    public void removeListener(long userId, UpdateListener listener) {
+        synchronized (registryLock) {
+            var set = listeners.get(userId);
+            if (set == null) {
+                return;
+            }
+            set.remove(listener);
+            logListeners.remove(listener);
+            if (set.isEmpty()) {
+                listeners.remove(userId);
+                userDevices.remove(userId).forEach(deviceId -> removeDeviceUser(deviceId, userId));
+            }
         }
     }
 
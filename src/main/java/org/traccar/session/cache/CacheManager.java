@@ -22,7 +22,9 @@ import org.slf4j.LoggerFactory;
 import org.traccar.broadcast.BroadcastInterface;
 import org.traccar.broadcast.BroadcastService;
 import org.traccar.config.Config;
+import org.traccar.config.ConfigKey;
 import org.traccar.config.Keys;
+import org.traccar.geofence.GeofenceIndex;
 import org.traccar.helper.model.AttributeUtil;
 import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Attribute;
@@ -48,13 +50,18 @@ import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Request;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -75,6 +82,18 @@ public class CacheManager implements BroadcastInterface {
     private volatile Server server;
     private final Map<Long, ConcurrentLinkedDeque<Position>> devicePositions = new ConcurrentHashMap<>();
     private final Map<Long, HashSet<Object>> deviceReferences = new ConcurrentHashMap<>();
+    private final Map<Long, Position> latestPositions;
+    private final Set<InvalidationListener> invalidationListeners = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Device geofence index tagged with the global geofence version. A null index marks an invalidated device.
+     */
+    private record VersionedGeofenceIndex(long version, GeofenceIndex index) {}
+
+    private final AtomicLong geofenceVersion = new AtomicLong();
+    private final Map<Long, VersionedGeofenceIndex> deviceGeofences = new ConcurrentHashMap<>();
+
+    private final Map<Long, Object[]> deviceSettings = new ConcurrentHashMap<>();
 
     @Inject
     public CacheManager(Config config, Storage storage, BroadcastService broadcastService) throws StorageException {
@@ -82,6 +101,16 @@ public class CacheManager implements BroadcastInterface {
         this.storage = storage;
         this.broadcastService = broadcastService;
         server = storage.getObject(Server.class, new Request(new Columns.All()));
+        if (config.getBoolean(Keys.DATABASE_LATEST_POSITIONS_CACHE)) {
+            latestPositions = new ConcurrentHashMap<>();
+            for (Position position : storage.getObjects(Position.class, new Request(
+                    new Columns.All(), new Condition.LatestPositions()))) {
+                latestPositions.put(position.getDeviceId(), position);
+            }
+            LOGGER.info("Latest positions cache loaded {} positions", latestPositions.size());
+        } else {
+            latestPositions = null;
+        }
         broadcastService.registerListener(this);
     }
 
@@ -94,6 +123,20 @@ public class CacheManager implements BroadcastInterface {
         return config;
     }
 
+    public interface InvalidationListener {
+        default void onInvalidateObject(Class<? extends BaseModel> clazz, long id, ObjectOperation operation) {}
+        default void onInvalidatePermission(
+                Class<? extends BaseModel> clazz1, long id1, Class<? extends BaseModel> clazz2, long id2) {}
+    }
+
+    public void addInvalidationListener(InvalidationListener listener) {
+        invalidationListeners.add(listener);
+    }
+
+    public void removeInvalidationListener(InvalidationListener listener) {
+        invalidationListeners.remove(listener);
+    }
+
     public <T extends BaseModel> T getObject(Class<T> clazz, long id) {
         return graph.getObject(clazz, id);
     }
@@ -103,6 +146,66 @@ public class CacheManager implements BroadcastInterface {
                 .collect(Collectors.toUnmodifiableSet());
     }
 
+    public GeofenceIndex getDeviceGeofences(long deviceId) {
+        long version = geofenceVersion.get();
+        VersionedGeofenceIndex cached = deviceGeofences.get(deviceId);
+        if (cached != null && cached.version() == version && cached.index() != null) {
+            return cached.index();
+        }
+        GeofenceIndex index = new GeofenceIndex(getDeviceObjects(deviceId, Geofence.class));
+        if (deviceReferences.containsKey(deviceId)) {
+            // only replace the entry seen before the build, so a concurrent device invalidation is kept
+            VersionedGeofenceIndex updated = new VersionedGeofenceIndex(version, index);
+            if (cached == null) {
+                deviceGeofences.putIfAbsent(deviceId, updated);
+            } else {
+                deviceGeofences.replace(deviceId, cached, updated);
+            }
+        }
+        return index;
+    }
+
+    private void invalidateGeofences(Class<? extends BaseModel> clazz, long id) {
+        if (clazz.equals(Geofence.class) || clazz.equals(Group.class)) {
+            geofenceVersion.incrementAndGet();
+        } else if (clazz.equals(Device.class)) {
+            if (deviceReferences.containsKey(id)) {
+                // empty entry changes the device stamp, so builds started before this point are not published
+                deviceGeofences.put(id, new VersionedGeofenceIndex(geofenceVersion.get(), null));
+            } else {
+                deviceGeofences.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Returns the resolved settings array of a cached device, indexed by {@link ConfigKey#getSettingsIndex()} and
+     * long enough to hold the given index, or null if the device is not cached. The array grows on demand and is
+     * replaced when the device, any group or the server is updated, so values written into a replaced array are
+     * simply dropped.
+     */
+    public Object[] getDeviceSettings(long deviceId, int index) {
+        Object[] settings = deviceSettings.get(deviceId);
+        if ((settings == null || index >= settings.length) && deviceReferences.containsKey(deviceId)) {
+            settings = deviceSettings.compute(deviceId, (k, current) -> {
+                int length = Math.max(ConfigKey.getSettingsCount(), index + 1);
+                if (current == null) {
+                    return new Object[length];
+                }
+                return index < current.length ? current : Arrays.copyOf(current, length);
+            });
+        }
+        return settings != null && index < settings.length ? settings : null;
+    }
+
+    private void invalidateSettings(Class<? extends BaseModel> clazz, long id) {
+        if (clazz.equals(Group.class) || clazz.equals(Server.class)) {
+            deviceSettings.clear();
+        } else if (clazz.equals(Device.class)) {
+            deviceSettings.remove(id);
+        }
+    }
+
     public Position getPosition(long deviceId) {
         var positions = devicePositions.get(deviceId);
         return positions != null ? positions.peekLast() : null;
@@ -112,6 +215,34 @@ public class CacheManager implements BroadcastInterface {
         return devicePositions.computeIfAbsent(deviceId, k -> new ConcurrentLinkedDeque<>());
     }
 
+    public boolean hasLatestPositions() {
+        return latestPositions != null;
+    }
+
+    public Position getLatestPosition(long deviceId) {
+        return latestPositions.get(deviceId);
+    }
+
+    public List<Position> getLatestPositions(Collection<Long> deviceIds) {
+        long period = config.getLong(Keys.DATABASE_POSITION_PERIOD);
+        long minTime = period > 0 ? System.currentTimeMillis() - period * 1000 : 0;
+        List<Position> result = new ArrayList<>();
+        for (long deviceId : deviceIds) {
+            Position position = latestPositions.get(deviceId);
+            if (position != null && position.getFixTime().getTime() > minTime) {
+                result.add(position);
+            }
+        }
+        return result;
+    }
+
+    private void updateLatestPosition(Position position) {
+        if (latestPositions != null) {
+            latestPositions.merge(position.getDeviceId(), position,
+                    (previous, current) -> current.getFixTime().before(previous.getFixTime()) ? previous : current);
+        }
+    }
+
     public Server getServer() {
         return server;
     }
@@ -139,6 +270,7 @@ public class CacheManager implements BroadcastInterface {
                     new Columns.All(), new Condition.Equals("id", deviceId)));
             graph.addObject(device);
             initializeCache(device);
+            deviceSettings.remove(deviceId);
             if (device.getPositionId() > 0) {
                 Position position = storage.getObject(Position.class, new Request(
                         new Columns.All(),
@@ -171,6 +303,8 @@ public class CacheManager implements BroadcastInterface {
         if (references.isEmpty()) {
             graph.removeObject(Device.class, deviceId);
             devicePositions.remove(deviceId);
+            deviceGeofences.remove(deviceId);
+            deviceSettings.remove(deviceId);
             deviceReferences.remove(deviceId);
         }
         LOGGER.debug("Cache remove device {} references {} key {}", deviceId, references.size(), key);
@@ -193,7 +327,15 @@ public class CacheManager implements BroadcastInterface {
         return true;
     }
 
+    @Override
+    public void updatePosition(boolean local, Position position) {
+        if (!local) {
+            updateLatestPosition(position);
+        }
+    }
+
     public void updatePosition(Position position) {
+        updateLatestPosition(position);
         deviceReferences.computeIfPresent(position.getDeviceId(), (key, oldValue) -> {
             var positions = devicePositions.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
             if (!appendPosition(positions, position)) {
@@ -229,55 +371,73 @@ public class CacheManager implements BroadcastInterface {
         }
 
         synchronized (this) {
-            if (operation == ObjectOperation.DELETE) {
-                graph.removeObject(clazz, id);
-            }
-            if (operation != ObjectOperation.UPDATE) {
-                return;
-            }
+            invalidateCachedObject(clazz, id, operation);
+            invalidateGeofences(clazz, id);
+            invalidateSettings(clazz, id);
+        }
 
-            if (clazz.equals(Server.class)) {
-                server = storage.getObject(Server.class, new Request(new Columns.All()));
-                return;
-            }
+        for (InvalidationListener listener : invalidationListeners) {
+            listener.onInvalidateObject(clazz, id, operation);
+        }
+    }
 
-            var after = storage.getObject(clazz, new Request(
-                    new Columns.All(), new Condition.Equals("id", id)));
-            if (after == null) {
-                return;
-            }
-            var before = getObject(after.getClass(), after.getId());
-            if (before == null) {
-                return;
+    private <T extends BaseModel> void invalidateCachedObject(
+            Class<T> clazz, long id, ObjectOperation operation) throws Exception {
+        if (operation == ObjectOperation.DELETE) {
+            graph.removeObject(clazz, id);
+            if (latestPositions != null) {
+                if (clazz.equals(Device.class)) {
+                    latestPositions.remove(id);
+                } else if (clazz.equals(Position.class)) {
+                    latestPositions.values().removeIf(position -> position.getId() == id);
+                }
             }
+        }
+        if (operation != ObjectOperation.UPDATE) {
+            return;
+        }
 
-            if (after instanceof GroupedModel afterGrouped) {
-                long beforeGroupId = ((GroupedModel) before).getGroupId();
-                long afterGroupId = afterGrouped.getGroupId();
-                if (beforeGroupId != afterGroupId) {
-                    if (beforeGroupId > 0) {
-                        invalidatePermission(clazz, id, Group.class, beforeGroupId, false);
-                    }
-                    if (afterGroupId > 0) {
-                        invalidatePermission(clazz, id, Group.class, afterGroupId, true);
-                    }
+        if (clazz.equals(Server.class)) {
+            server = storage.getObject(Server.class, new Request(new Columns.All()));
+            return;
+        }
+
+        var after = storage.getObject(clazz, new Request(
+                new Columns.All(), new Condition.Equals("id", id)));
+        if (after == null) {
+            return;
+        }
+        var before = getObject(after.getClass(), after.getId());
+        if (before == null) {
+            return;
+        }
+
+        if (after instanceof GroupedModel afterGrouped) {
+            long beforeGroupId = ((GroupedModel) before).getGroupId();
+            long afterGroupId = afterGrouped.getGroupId();
+            if (beforeGroupId != afterGroupId) {
+                if (beforeGroupId > 0) {
+                    invalidatePermission(clazz, id, Group.class, beforeGroupId, false);
+                }
+                if (afterGroupId > 0) {
+                    invalidatePermission(clazz, id, Group.class, afterGroupId, true);
                 }
             }
-            if (after instanceof Schedulable afterSchedulable) {
-                long beforeCalendarId = ((Schedulable) before).getCalendarId();
-                long afterCalendarId = afterSchedulable.getCalendarId();
-                if (beforeCalendarId != afterCalendarId) {
-                    if (beforeCalendarId > 0) {
-                        invalidatePermission(clazz, id, Calendar.class, beforeCalendarId, false);
-                    }
-                    if (afterCalendarId > 0) {
-                        invalidatePermission(clazz, id, Calendar.class, afterCalendarId, true);
-                    }
+        }
+        if (after instanceof Schedulable afterSchedulable) {
+            long beforeCalendarId = ((Schedulable) before).getCalendarId();
+            long afterCalendarId = afterSchedulable.getCalendarId();
+            if (beforeCalendarId != afterCalendarId) {
+                if (beforeCalendarId > 0) {
+                    invalidatePermission(clazz, id, Calendar.class, beforeCalendarId, false);
+                }
+                if (afterCalendarId > 0) {
+                    invalidatePermission(clazz, id, Calendar.class, afterCalendarId, true);
                 }
             }
-
-            graph.updateObject(after);
         }
+
+        graph.updateObject(after);
     }
 
     @Override
@@ -293,6 +453,12 @@ public class CacheManager implements BroadcastInterface {
             } else {
                 invalidatePermission(clazz1, id1, clazz2, id2, link);
             }
+            invalidateGeofences(clazz1, id1);
+            invalidateGeofences(clazz2, id2);
+        }
+
+        for (InvalidationListener listener : invalidationListeners) {
+            listener.onInvalidatePermission(clazz1, id1, clazz2, id2);
         }
     }
 
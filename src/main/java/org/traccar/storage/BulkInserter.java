@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.ReflectionCache;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Database specific bulk insert used for position batches. Column getters come from the insert query plan and
+ * values are converted the same way as for regular statements.
+ */
+final class BulkInserter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkInserter.class);
+
+    private static final int MAX_PARAMETERS = 60000;
+
+    private enum Dialect { POSTGRESQL, MYSQL }
+
+    private final Config config;
+    private final ObjectMapper objectMapper;
+    private final Dialect dialect;
+
+    private BulkInserter(Config config, ObjectMapper objectMapper, Dialect dialect) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.dialect = dialect;
+    }
+
+    static BulkInserter create(Config config, ObjectMapper objectMapper, String databaseType) {
+        if (!config.getBoolean(Keys.DATABASE_POSITION_BULK_INSERT)) {
+            return null;
+        }
+        return switch (databaseType) {
+            case "PostgreSQL" -> new BulkInserter(config, objectMapper, Dialect.POSTGRESQL);
+            case "MySQL", "MariaDB" -> new BulkInserter(config, objectMapper, Dialect.MYSQL);
+            default -> null;
+        };
+    }
+
+    private void logQuery(String query) {
+        if (config.getBoolean(Keys.LOGGER_QUERIES)) {
+            LOGGER.info(query);
+        }
+    }
+
+    <T> List<Long> insert(
+            Connection connection, String table, QueryPlan plan, List<T> entities) throws SQLException {
+        List<String> columns = plan.getColumns();
+        ReflectionCache.PropertyMethod[] getters = plan.getGetters();
+        try {
+            return switch (dialect) {
+                case POSTGRESQL -> insertCopy(connection, table, columns, getters, entities);
+                case MYSQL -> insertValues(connection, table, columns, getters, entities);
+            };
+        } catch (SQLException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SQLException(e);
+        }
+    }
+
+    private <T> List<Long> insertCopy(
+            Connection connection, String table, List<String> columns, ReflectionCache.PropertyMethod[] getters,
+            List<T> entities) throws Throwable {
+
+        String sequenceQuery = "SELECT nextval(pg_get_serial_sequence('" + table + "', 'id'))"
+                + " FROM generate_series(1, ?)";
+        logQuery(sequenceQuery);
+        List<Long> ids = new ArrayList<>(entities.size());
+        try (PreparedStatement statement = connection.prepareStatement(sequenceQuery)) {
+            statement.setInt(1, entities.size());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+            }
+        }
+        Collections.sort(ids);
+
+        StringBuilder data = new StringBuilder(entities.size() * getters.length * 16);
+        for (int row = 0; row < entities.size(); row++) {
+            data.append(ids.get(row));
+            Object entity = entities.get(row);
+            for (int column = 0; column < getters.length; column++) {
+                data.append('\t');
+                appendCopyValue(data, QueryBuilder.getPropertyValue(
+                        objectMapper, columns.get(column), getters[column], entity));
+            }
+            data.append('\n');
+        }
+
+        String copyQuery = "COPY " + table + " (id, " + String.join(", ", columns) + ") FROM STDIN";
+        logQuery(copyQuery);
+        connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copyQuery, new StringReader(data.toString()));
+        return ids;
+    }
+
+    private static void appendCopyValue(StringBuilder data, Object value) {
+        switch (value) {
+            case null -> data.append("\\N");
+            case Boolean booleanValue -> data.append(booleanValue ? 't' : 'f');
+            case String stringValue -> appendCopyText(data, stringValue);
+            case Date dateValue -> data.append(new Timestamp(dateValue.getTime()));
+            case byte[] bytesValue -> data.append("\\\\x").append(HexFormat.of().formatHex(bytesValue));
+            default -> data.append(value);
+        }
+    }
+
+    private static void appendCopyText(StringBuilder data, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> data.append("\\\\");
+                case '\n' -> data.append("\\n");
+                case '\r' -> data.append("\\r");
+                case '\t' -> data.append("\\t");
+                default -> data.append(c);
+            }
+        }
+    }
+
+    private <T> List<Long> insertValues(
+            Connection connection, String table, List<String> columns, ReflectionCache.PropertyMethod[] getters,
+            List<T> entities) throws Throwable {
+
+        int chunkSize = Math.max(MAX_PARAMETERS / getters.length, 1);
+        String row = "(" + String.join(", ", Collections.nCopies(getters.length, "?")) + ")";
+        String prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+
+        List<Long> ids = new ArrayList<>(entities.size());
+        long increment = 0;
+        for (int start = 0; start < entities.size(); start += chunkSize) {
+            List<T> chunk = entities.subList(start, Math.min(start + chunkSize, entities.size()));
+            String query = prefix + String.join(", ", Collections.nCopies(chunk.size(), row));
+            logQuery(query);
+            try (PreparedStatement statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+                int index = 1;
+                for (T entity : chunk) {
+                    for (int column = 0; column < getters.length; column++) {
+                        Object value = QueryBuilder.getPropertyValue(
+                                objectMapper, columns.get(column), getters[column], entity);
+                        QueryBuilder.setParameter(statement, index++, getters[column].type(), value);
+                    }
+                }
+                statement.executeUpdate();
+                List<Long> chunkIds = new ArrayList<>(chunk.size());
+                try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                    while (resultSet.next()) {
+                        chunkIds.add(resultSet.getLong(1));
+                    }
+                }
+                if (chunkIds.size() == 1 && chunk.size() > 1) {
+                    // driver reported only the first key; a multi-row insert allocates ids one increment apart
+                    if (increment == 0) {
+                        increment = getAutoIncrementIncrement(connection);
+                    }
+                    long first = chunkIds.getFirst();
+                    for (int i = 1; i < chunk.size(); i++) {
+                        chunkIds.add(first + i * increment);
+                    }
+                }
+                ids.addAll(chunkIds);
+            }
+        }
+        return ids;
+    }
+
+    private long getAutoIncrementIncrement(Connection connection) throws SQLException {
+        String query = "SELECT @@auto_increment_increment";
+        logQuery(query);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            return resultSet.next() ? Math.max(resultSet.getLong(1), 1) : 1;
+        }
+    }
+
+}
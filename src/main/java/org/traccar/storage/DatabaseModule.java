@@ -29,6 +29,7 @@ import liquibase.resource.DirectoryResourceAccessor;
 import liquibase.resource.ResourceAccessor;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.MetricsRegistry;
 
 import jakarta.inject.Singleton;
 import javax.sql.DataSource;
@@ -43,7 +44,8 @@ public class DatabaseModule extends AbstractModule {
     @Singleton
     @Provides
     public static DataSource provideDataSource(
-            Config config) throws ReflectiveOperationException, IOException, LiquibaseException {
+            Config config, MetricsRegistry metricsRegistry)
+            throws ReflectiveOperationException, IOException, LiquibaseException {
 
         String driverFile = config.getString(Keys.DATABASE_DRIVER_FILE);
         if (driverFile != null) {
@@ -79,7 +81,24 @@ public class DatabaseModule extends AbstractModule {
         }
         hikariConfig.setMaximumPoolSize(config.getInteger(Keys.DATABASE_MAX_POOL_SIZE));
 
-        DataSource dataSource = new HikariDataSource(hikariConfig);
+        String url = config.getString(Keys.DATABASE_URL);
+        int statementCacheSize = config.getInteger(Keys.DATABASE_STATEMENT_CACHE_SIZE);
+        if (statementCacheSize > 0 && url != null
+                && (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:"))) {
+            hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
+            hikariConfig.addDataSourceProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+            hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "4096");
+        }
+
+        HikariDataSource dataSource = new HikariDataSource(hikariConfig);
+
+        var pool = dataSource.getHikariPoolMXBean();
+        String help = "Database connection pool connections";
+        metricsRegistry.gauge("traccar_database_connections", help, pool::getActiveConnections, "state", "active");
+        metricsRegistry.gauge("traccar_database_connections", help, pool::getIdleConnections, "state", "idle");
+        metricsRegistry.gauge("traccar_database_connections", help, pool::getTotalConnections, "state", "total");
+        metricsRegistry.gauge("traccar_database_connections_pending", "Threads waiting for a database connection",
+                pool::getThreadsAwaitingConnection);
 
         String changelog = config.getString(Keys.DATABASE_CHANGELOG);
         if (changelog != null && !changelog.isEmpty()) {
@@ -23,6 +23,7 @@ import org.traccar.model.Device;
 import org.traccar.model.Group;
 import org.traccar.model.GroupedModel;
 import org.traccar.model.Permission;
+import org.traccar.model.Position;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Order;
@@ -34,19 +35,31 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class DatabaseStorage extends Storage {
 
+    private static final int MAX_UPDATE_PARAMETERS = 2000;
+
     private final Config config;
     private final DataSource dataSource;
     private final ObjectMapper objectMapper;
     private final String databaseType;
+    private final BulkInserter bulkInserter;
+    private final Map<QueryKey, QueryPlan> queryPlans;
+
+    private record QueryKey(String type, Class<?> clazz, List<String> columns, Object condition, Object order) {}
+
+    private interface QueryFormatter {
+        String format() throws StorageException;
+    }
 
     @Inject
     public DatabaseStorage(Config config, DataSource dataSource, ObjectMapper objectMapper) {
@@ -59,6 +72,26 @@ public class DatabaseStorage extends Storage {
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
+        bulkInserter = BulkInserter.create(config, objectMapper, databaseType);
+
+        int cacheSize = config.getInteger(Keys.DATABASE_QUERY_CACHE_SIZE);
+        queryPlans = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    private QueryPlan getQueryPlan(
+            QueryKey key, Class<?> entityClass, List<String> columns,
+            QueryFormatter formatter) throws StorageException {
+        QueryPlan plan = queryPlans.get(key);
+        if (plan == null) {
+            plan = new QueryPlan(formatter.format(), entityClass, columns);
+            queryPlans.put(key, plan);
+        }
+        return plan;
     }
 
     @Override
@@ -70,23 +103,31 @@ public class DatabaseStorage extends Storage {
 
     @Override
     public <T> Stream<T> getObjectsStream(Class<T> clazz, Request request) throws StorageException {
-        StringBuilder query = new StringBuilder("SELECT ");
-        if (request.getColumns() instanceof Columns.All) {
-            query.append('*');
-        } else {
-            query.append(formatColumns(request.getColumns().getColumns(clazz, "set"), c -> c));
-        }
-        query.append(" FROM ").append(getStorageName(clazz));
-        query.append(formatCondition(request.getCondition()));
-        query.append(formatOrder(request.getOrder()));
+        boolean allColumns = request.getColumns() instanceof Columns.All;
+        List<String> columns = allColumns ? List.of() : request.getColumns().getColumns(clazz, "set");
+        QueryKey key = new QueryKey(
+                allColumns ? "SELECT *" : "SELECT", clazz, columns,
+                getConditionShape(request.getCondition()), getOrderShape(request.getOrder()));
+        QueryPlan plan = getQueryPlan(key, null, List.of(), () -> {
+            StringBuilder query = new StringBuilder("SELECT ");
+            if (allColumns) {
+                query.append('*');
+            } else {
+                query.append(formatColumns(columns, c -> c));
+            }
+            query.append(" FROM ").append(getStorageName(clazz));
+            query.append(formatCondition(request.getCondition()));
+            query.append(formatOrder(request.getOrder()));
+            return query.toString();
+        });
         QueryBuilder builder = null;
         try {
-            builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString());
+            builder = QueryBuilder.create(config, dataSource, objectMapper, plan.getQuery());
             List<Object> values = getConditionVariables(request.getCondition());
             for (int index = 0; index < values.size(); index++) {
                 builder.setValue(index, values.get(index));
             }
-            Stream<T> stream = builder.executeQueryStreamed(clazz, databaseType);
+            Stream<T> stream = builder.executeQueryStreamed(clazz, databaseType, plan);
             builder = null;
             return stream;
         } catch (SQLException e) {
@@ -104,10 +145,9 @@ public class DatabaseStorage extends Storage {
 
     @Override
     public <T> long addObject(T entity, Request request) throws StorageException {
-        List<String> columns = request.getColumns().getColumns(entity.getClass(), "get");
-        try (QueryBuilder builder = QueryBuilder.create(
-                config, dataSource, objectMapper, formatInsert(entity.getClass(), columns), true)) {
-            builder.setObject(entity, columns);
+        QueryPlan plan = getInsertPlan(entity.getClass(), request);
+        try (QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, plan.getQuery(), true)) {
+            builder.setObject(entity, plan);
             return builder.executeUpdate();
         } catch (SQLException e) {
             throw new StorageException(e);
@@ -117,11 +157,22 @@ public class DatabaseStorage extends Storage {
     @Override
     public <T> List<Long> addObjects(List<T> entities, Request request) throws StorageException {
         Class<?> entityClass = entities.getFirst().getClass();
-        List<String> columns = request.getColumns().getColumns(entityClass, "get");
-        try (QueryBuilder builder = QueryBuilder.create(
-                config, dataSource, objectMapper, formatInsert(entityClass, columns), true)) {
+        QueryPlan plan = getInsertPlan(entityClass, request);
+        if (bulkInserter != null && entityClass.equals(Position.class)) {
+            try (var connection = dataSource.getConnection()) {
+                List<Long> ids = bulkInserter.insert(connection, getStorageName(entityClass), plan, entities);
+                if (ids.size() != entities.size()) {
+                    throw new StorageException(
+                            "Generated key count " + ids.size() + " does not match batch size " + entities.size());
+                }
+                return ids;
+            } catch (SQLException e) {
+                throw new StorageException(e);
+            }
+        }
+        try (QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, plan.getQuery(), true)) {
             for (T entity : entities) {
-                builder.setObject(entity, columns);
+                builder.setObject(entity, plan);
                 builder.addBatch();
             }
             List<Long> ids = builder.executeBatch();
@@ -135,6 +186,12 @@ public class DatabaseStorage extends Storage {
         }
     }
 
+    private QueryPlan getInsertPlan(Class<?> entityClass, Request request) throws StorageException {
+        List<String> columns = request.getColumns().getColumns(entityClass, "get");
+        QueryKey key = new QueryKey("INSERT", entityClass, columns, null, null);
+        return getQueryPlan(key, entityClass, columns, () -> formatInsert(entityClass, columns));
+    }
+
     private String formatInsert(Class<?> entityClass, List<String> columns) throws StorageException {
         StringBuilder query = new StringBuilder("INSERT INTO ");
         query.append(getStorageName(entityClass));
@@ -148,14 +205,19 @@ public class DatabaseStorage extends Storage {
 
     @Override
     public <T> void updateObject(T entity, Request request) throws StorageException {
-        List<String> columns = request.getColumns().getColumns(entity.getClass(), "get");
-        StringBuilder query = new StringBuilder("UPDATE ");
-        query.append(getStorageName(entity.getClass()));
-        query.append(" SET ");
-        query.append(formatColumns(columns, c -> c + " = ?"));
-        query.append(formatCondition(request.getCondition()));
-        try (QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query.toString())) {
-            builder.setObject(entity, columns);
+        Class<?> entityClass = entity.getClass();
+        List<String> columns = request.getColumns().getColumns(entityClass, "get");
+        QueryKey key = new QueryKey("UPDATE", entityClass, columns, getConditionShape(request.getCondition()), null);
+        QueryPlan plan = getQueryPlan(key, entityClass, columns, () -> {
+            StringBuilder query = new StringBuilder("UPDATE ");
+            query.append(getStorageName(entityClass));
+            query.append(" SET ");
+            query.append(formatColumns(columns, c -> c + " = ?"));
+            query.append(formatCondition(request.getCondition()));
+            return query.toString();
+        });
+        try (QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, plan.getQuery())) {
+            builder.setObject(entity, plan);
             List<Object> values = getConditionVariables(request.getCondition());
             for (int index = 0; index < values.size(); index++) {
                 builder.setValue(columns.size() + index, values.get(index));
@@ -166,6 +228,50 @@ public class DatabaseStorage extends Storage {
         }
     }
 
+    @Override
+    public <T extends BaseModel> void updateObjects(List<T> entities, Columns columns) throws StorageException {
+        if (entities.isEmpty()) {
+            return;
+        }
+        Class<?> entityClass = entities.getFirst().getClass();
+        List<String> columnNames = columns.getColumns(entityClass, "get");
+        int chunkSize = Math.max(MAX_UPDATE_PARAMETERS / (columnNames.size() * 2 + 1), 1);
+        for (int start = 0; start < entities.size(); start += chunkSize) {
+            List<T> chunk = entities.subList(start, Math.min(start + chunkSize, entities.size()));
+            // pad to a power of two by repeating the last row, so variable batch sizes share a few plans
+            int rows = chunk.size() > 1 ? Math.min(Integer.highestOneBit(chunk.size() - 1) << 1, chunkSize) : 1;
+            QueryKey key = new QueryKey("UPDATE CASE", entityClass, columnNames, rows, null);
+            QueryPlan plan = getQueryPlan(key, entityClass, columnNames, () -> {
+                String cases = String.join(" ", Collections.nCopies(rows, "WHEN ? THEN ?"));
+                StringBuilder query = new StringBuilder("UPDATE ");
+                query.append(getStorageName(entityClass));
+                query.append(" SET ");
+                query.append(formatColumns(columnNames, c -> c + " = CASE id " + cases + " ELSE " + c + " END"));
+                query.append(" WHERE id IN (");
+                query.append(String.join(", ", Collections.nCopies(rows, "?")));
+                query.append(")");
+                return query.toString();
+            });
+            try (QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, plan.getQuery())) {
+                var getters = plan.getGetters();
+                int index = 0;
+                for (int column = 0; column < getters.length; column++) {
+                    for (int row = 0; row < rows; row++) {
+                        T entity = chunk.get(Math.min(row, chunk.size() - 1));
+                        builder.setLong(index++, entity.getId());
+                        builder.setProperty(index++, columnNames.get(column), getters[column], entity);
+                    }
+                }
+                for (int row = 0; row < rows; row++) {
+                    builder.setLong(index++, chunk.get(Math.min(row, chunk.size() - 1)).getId());
+                }
+                builder.executeUpdate();
+            } catch (SQLException e) {
+                throw new StorageException(e);
+            }
+        }
+    }
+
     @Override
     public void removeObject(Class<?> clazz, Request request) throws StorageException {
         StringBuilder query = new StringBuilder("DELETE FROM ");
@@ -290,6 +396,32 @@ public class DatabaseStorage extends Storage {
         return results;
     }
 
+    private Object getConditionShape(Condition genericCondition) {
+        return switch (genericCondition) {
+            case null -> List.of();
+            case Condition.Compare condition -> List.of(
+                    Condition.Compare.class, condition.getColumn(), condition.getOperator());
+            case Condition.Between condition -> List.of(Condition.Between.class, condition.getColumn());
+            case Condition.Binary condition -> List.of(
+                    condition.getClass(), condition.getOperator(),
+                    getConditionShape(condition.getFirst()), getConditionShape(condition.getSecond()));
+            case Condition.Permission condition -> List.of(
+                    Condition.Permission.class, condition.getOwnerClass(), condition.getPropertyClass(),
+                    condition.getOwnerId() > 0, condition.getIncludeGroups());
+            case Condition.Contains condition -> List.of(Condition.Contains.class, condition.getColumns());
+            case Condition.LatestPositions condition -> List.of(
+                    Condition.LatestPositions.class, condition.getDeviceId() > 0);
+            default -> List.of(genericCondition.getClass());
+        };
+    }
+
+    private Object getOrderShape(Order order) {
+        if (order == null) {
+            return List.of();
+        }
+        return List.of(order.getColumn(), order.getDescending(), order.getLimit(), order.getOffset());
+    }
+
     private String formatColumns(List<String> columns, Function<String, String> mapper) {
         return columns.stream().map(mapper).collect(Collectors.joining(", "));
     }
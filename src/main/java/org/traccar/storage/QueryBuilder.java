@@ -153,35 +153,85 @@ public final class QueryBuilder implements AutoCloseable {
     }
 
     public void setObject(Object object, List<String> columns) throws SQLException {
+        var properties = ReflectionCache.getProperties(object.getClass(), "get");
+        for (int index = 0; index < columns.size(); index++) {
+            String column = columns.get(index);
+            setProperty(index, column, properties.get(column), object);
+        }
+    }
+
+    void setObject(Object object, QueryPlan plan) {
+        List<String> columns = plan.getColumns();
+        ReflectionCache.PropertyMethod[] getters = plan.getGetters();
+        for (int index = 0; index < getters.length; index++) {
+            setProperty(index, columns.get(index), getters[index], object);
+        }
+    }
+
+    void setProperty(int index, String column, ReflectionCache.PropertyMethod property, Object object) {
         try {
-            for (int index = 0; index < columns.size(); index++) {
-                String column = columns.get(index);
-                var property = ReflectionCache.getProperties(object.getClass(), "get").get(column);
-                Class<?> returnType = property.type();
-                Object value = property.handle().invokeExact(object);
-                if (returnType.equals(boolean.class)) {
-                    setBoolean(index, (Boolean) value);
-                } else if (returnType.equals(int.class)) {
-                    setInteger(index, (Integer) value);
-                } else if (returnType.equals(long.class)) {
-                    setLong(index, (Long) value, column.endsWith("Id"));
-                } else if (returnType.equals(double.class)) {
-                    setDouble(index, (Double) value);
-                } else if (returnType.equals(String.class)) {
-                    setString(index, (String) value);
-                } else if (returnType.equals(Date.class)) {
-                    setDate(index, (Date) value);
-                } else if (returnType.equals(byte[].class)) {
-                    setBlob(index, (byte[]) value);
-                } else {
-                    setString(index, objectMapper.writeValueAsString(value));
-                }
-            }
+            Object value = getPropertyValue(objectMapper, column, property, object);
+            setParameter(statement, index + 1, property.type(), value);
         } catch (Throwable e) {
             LOGGER.warn("Set object error", e);
         }
     }
 
+    private static boolean isDirectType(Class<?> type) {
+        return type.equals(boolean.class) || type.equals(int.class) || type.equals(long.class)
+                || type.equals(double.class) || type.equals(String.class) || type.equals(Date.class)
+                || type.equals(byte[].class);
+    }
+
+    /**
+     * Reads a property and converts it to the value stored in the database. Zero ids become null and values of
+     * other types are serialized to JSON strings.
+     */
+    static Object getPropertyValue(
+            ObjectMapper objectMapper, String column, ReflectionCache.PropertyMethod property,
+            Object object) throws Throwable {
+        Class<?> type = property.type();
+        Object value = property.handle().invokeExact(object);
+        if (type.equals(long.class) && (Long) value == 0 && column.endsWith("Id")) {
+            return null;
+        } else if (isDirectType(type)) {
+            return value;
+        } else {
+            return objectMapper.writeValueAsString(value);
+        }
+    }
+
+    /**
+     * Binds a value returned by {@link #getPropertyValue} for a property of the given type. Index is one-based.
+     */
+    static void setParameter(PreparedStatement statement, int index, Class<?> type, Object value) throws SQLException {
+        if (value == null) {
+            if (type.equals(long.class)) {
+                statement.setNull(index, Types.BIGINT);
+            } else if (type.equals(Date.class)) {
+                statement.setNull(index, Types.TIMESTAMP);
+            } else if (type.equals(byte[].class)) {
+                statement.setNull(index, Types.BLOB);
+            } else {
+                statement.setNull(index, Types.VARCHAR);
+            }
+        } else if (type.equals(boolean.class)) {
+            statement.setBoolean(index, (Boolean) value);
+        } else if (type.equals(int.class)) {
+            statement.setInt(index, (Integer) value);
+        } else if (type.equals(long.class)) {
+            statement.setLong(index, (Long) value);
+        } else if (type.equals(double.class)) {
+            statement.setDouble(index, (Double) value);
+        } else if (type.equals(Date.class)) {
+            statement.setTimestamp(index, new Timestamp(((Date) value).getTime()));
+        } else if (type.equals(byte[].class)) {
+            statement.setBytes(index, (byte[]) value);
+        } else {
+            statement.setString(index, (String) value);
+        }
+    }
+
     private interface ResultSetProcessor<T> {
         void process(T object, ResultSet resultSet) throws Throwable;
     }
@@ -189,6 +239,7 @@ public final class QueryBuilder implements AutoCloseable {
     private <T> void addProcessors(
             List<ResultSetProcessor<T>> processors,
             final Class<?> parameterType, final MethodHandle handle, final int columnIndex) {
+        final ObjectMapper mapper = objectMapper;
         if (parameterType.equals(boolean.class)) {
             processors.add((object, resultSet) -> {
                 handle.invokeExact(object, (Object) resultSet.getBoolean(columnIndex));
@@ -224,7 +275,7 @@ public final class QueryBuilder implements AutoCloseable {
             processors.add((object, resultSet) -> {
                 String value = resultSet.getString(columnIndex);
                 if (value != null && !value.isEmpty()) {
-                    handle.invokeExact(object, (Object) objectMapper.readValue(value, parameterType));
+                    handle.invokeExact(object, (Object) mapper.readValue(value, parameterType));
                 }
             });
         }
@@ -237,6 +288,11 @@ public final class QueryBuilder implements AutoCloseable {
     }
 
     public <T> Stream<T> executeQueryStreamed(Class<T> clazz, String databaseType) throws SQLException {
+        return executeQueryStreamed(clazz, databaseType, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Stream<T> executeQueryStreamed(Class<T> clazz, String databaseType, QueryPlan plan) throws SQLException {
         ResultSet resultSet = null;
         try {
             logQuery();
@@ -251,16 +307,29 @@ public final class QueryBuilder implements AutoCloseable {
             resultSet = statement.executeQuery();
             ResultSetMetaData resultMetaData = resultSet.getMetaData();
 
-            Map<String, Integer> columnIndexes = new HashMap<>();
-            for (int i = 1; i <= resultMetaData.getColumnCount(); i++) {
-                columnIndexes.put(resultMetaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+            String[] labels = new String[resultMetaData.getColumnCount()];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = resultMetaData.getColumnLabel(i + 1);
             }
 
-            List<ResultSetProcessor<T>> processors = new ArrayList<>();
-            for (var property : ReflectionCache.getProperties(clazz, "set").values()) {
-                Integer columnIndex = columnIndexes.get(property.lowerCaseName());
-                if (columnIndex != null) {
-                    addProcessors(processors, property.type(), property.handle(), columnIndex);
+            QueryPlan.Mapping mapping = plan != null ? plan.getMapping() : null;
+            final List<ResultSetProcessor<T>> processors;
+            if (mapping != null && mapping.matches(labels)) {
+                processors = (List<ResultSetProcessor<T>>) mapping.processors();
+            } else {
+                Map<String, Integer> columnIndexes = new HashMap<>();
+                for (int i = 0; i < labels.length; i++) {
+                    columnIndexes.put(labels[i].toLowerCase(Locale.ROOT), i + 1);
+                }
+                processors = new ArrayList<>();
+                for (var property : ReflectionCache.getProperties(clazz, "set").values()) {
+                    Integer columnIndex = columnIndexes.get(property.lowerCaseName());
+                    if (columnIndex != null) {
+                        addProcessors(processors, property.type(), property.handle(), columnIndex);
+                    }
+                }
+                if (plan != null) {
+                    plan.setMapping(new QueryPlan.Mapping(labels, List.copyOf(processors)));
                 }
             }
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import org.traccar.helper.ReflectionCache;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compiled form of a storage request. Holds the SQL text together with the resolved getters used for binding and,
+ * after the first execution, the result set mapping for the returned columns.
+ */
+final class QueryPlan {
+
+    record Mapping(String[] labels, List<?> processors) {
+        boolean matches(String[] otherLabels) {
+            return Arrays.equals(labels, otherLabels);
+        }
+    }
+
+    private final String query;
+    private final List<String> columns;
+    private final ReflectionCache.PropertyMethod[] getters;
+
+    private volatile Mapping mapping;
+
+    QueryPlan(String query) {
+        this(query, null, List.of());
+    }
+
+    QueryPlan(String query, Class<?> clazz, List<String> columns) {
+        this.query = query;
+        this.columns = List.copyOf(columns);
+        getters = new ReflectionCache.PropertyMethod[columns.size()];
+        if (clazz != null) {
+            var properties = ReflectionCache.getProperties(clazz, "get");
+            for (int i = 0; i < getters.length; i++) {
+                getters[i] = properties.get(columns.get(i));
+            }
+        }
+    }
+
+    String getQuery() {
+        return query;
+    }
+
+    List<String> getColumns() {
+        return columns;
+    }
+
+    ReflectionCache.PropertyMethod[] getGetters() {
+        return getters;
+    }
+
+    Mapping getMapping() {
+        return mapping;
+    }
+
+    void setMapping(Mapping mapping) {
+        this.mapping = mapping;
+    }
+
+}
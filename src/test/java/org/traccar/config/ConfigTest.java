@@ -3,6 +3,10 @@ package org.traccar.config;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ConfigTest {
 
@@ -16,4 +20,25 @@ public class ConfigTest {
         assertEquals("STATUS_TIMEOUT", Config.getEnvironmentVariableName("status.timeout"));
     }
 
+    @Test
+    public void testCachedValues() {
+        Config config = new Config();
+        assertNull(config.getString(Keys.DATABASE_URL));
+        assertEquals(100, config.getInteger(Keys.WEB_SOCKET_BUFFER_SIZE));
+        assertFalse(config.getBoolean(Keys.DATABASE_SAVE_ORIGINAL));
+
+        config.setString(Keys.DATABASE_URL, "jdbc:h2:mem:test");
+        config.setString(Keys.WEB_SOCKET_BUFFER_SIZE, "10");
+        config.setString(Keys.DATABASE_SAVE_ORIGINAL, "true");
+        assertEquals("jdbc:h2:mem:test", config.getString(Keys.DATABASE_URL));
+        assertEquals(10, config.getInteger(Keys.WEB_SOCKET_BUFFER_SIZE));
+        assertTrue(config.getBoolean(Keys.DATABASE_SAVE_ORIGINAL));
+    }
+
+    @Test
+    public void testPrefixedKeys() {
+        assertSame(Keys.PROTOCOL_PORT.withPrefix("osmand"), Keys.PROTOCOL_PORT.withPrefix("osmand"));
+        assertEquals(5055, new Config().getInteger(Keys.PROTOCOL_PORT.withPrefix("osmand")));
+    }
+
 }
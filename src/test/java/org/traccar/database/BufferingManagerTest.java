@@ -0,0 +1,56 @@
+package org.traccar.database;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Position;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BufferingManagerTest {
+
+    private Position createPosition(Date time) {
+        Position position = new Position();
+        position.setDeviceId(1);
+        position.setFixTime(time);
+        position.setDeviceTime(time);
+        position.setServerTime(time);
+        return position;
+    }
+
+    @Test
+    public void testEqualTimes() throws Exception {
+        Config config = mock(Config.class);
+        when(config.getLong(Keys.SERVER_BUFFERING_THRESHOLD)).thenReturn(50L);
+        ChannelHandlerContext context = mock(ChannelHandlerContext.class);
+        when(context.executor()).thenReturn(ImmediateEventExecutor.INSTANCE);
+
+        List<Position> released = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+        BufferingManager bufferingManager = new BufferingManager(config, (ctx, position) -> {
+            released.add(position);
+            latch.countDown();
+        });
+
+        Date time = new Date();
+        List<Position> positions = List.of(createPosition(time), createPosition(time), createPosition(time));
+        positions.forEach(position -> bufferingManager.accept(context, position));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(positions, released);
+        assertEquals(0, bufferingManager.getBufferedDevices());
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.traccar.database;
+
+import io.netty.util.Timer;
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.Storage;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeviceLookupServiceTest {
+
+    private Device createDevice(long id, String uniqueId) {
+        Device device = new Device();
+        device.setId(id);
+        device.setUniqueId(uniqueId);
+        return device;
+    }
+
+    @Test
+    public void testIndexFallback() throws Exception {
+        List<Device> devices = new CopyOnWriteArrayList<>(List.of(createDevice(1, "123")));
+        AtomicInteger identifierQueries = new AtomicInteger();
+
+        Storage storage = mock(Storage.class);
+        when(storage.getObjectsStream(eq(Device.class), any())).thenAnswer(invocation -> devices.stream());
+        when(storage.getObject(eq(Device.class), any())).thenAnswer(invocation -> {
+            var condition = (Condition.Equals) ((Request) invocation.getArgument(1)).getCondition();
+            if (condition.getColumn().equals("uniqueId")) {
+                identifierQueries.incrementAndGet();
+                return devices.stream()
+                        .filter(device -> device.getUniqueId().equals(condition.getValue()))
+                        .findFirst().orElse(null);
+            }
+            return devices.stream()
+                    .filter(device -> device.getId() == ((Number) condition.getValue()).longValue())
+                    .findFirst().orElse(null);
+        });
+
+        Config config = mock(Config.class);
+        when(config.getBoolean(Keys.DATABASE_DEVICE_INDEX)).thenReturn(true);
+        var lookupService = new DeviceLookupService(config, storage, mock(CacheManager.class), mock(Timer.class));
+
+        assertEquals(1, lookupService.lookup(new String[] {"123"}).getId());
+        assertEquals(0, identifierQueries.get());
+
+        devices.add(createDevice(2, "456"));
+        assertEquals(2, lookupService.lookup(new String[] {"456"}).getId());
+        assertEquals(1, identifierQueries.get());
+        assertEquals(2, lookupService.lookup(new String[] {"456"}).getId());
+        assertEquals(1, identifierQueries.get());
+
+        assertNull(lookupService.lookup(new String[] {"789"}));
+        assertNull(lookupService.lookup(new String[] {"789"}));
+        assertEquals(2, identifierQueries.get());
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MetricsRegistryTest {
+
+    private MetricsRegistry createRegistry(boolean enabled) {
+        Config config = mock(Config.class);
+        when(config.getBoolean(Keys.METRICS_ENABLE)).thenReturn(enabled);
+        return new MetricsRegistry(config);
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+        MetricsRegistry registry = createRegistry(true);
+
+        registry.counter("test_total", "Test counter", "protocol", "osmand").increment();
+        registry.counter("test_total", "Test counter", "protocol", "osmand").increment();
+        registry.gauge("test_queue", "Test gauge", () -> 5);
+        registry.histogram("test_seconds", "Test histogram", "handler", "a\"b")
+                .observe(TimeUnit.MILLISECONDS.toNanos(3));
+
+        StringWriter writer = new StringWriter();
+        registry.write(writer);
+        String output = writer.toString();
+
+        assertTrue(output.contains("# TYPE test_total counter\ntest_total{protocol=\"osmand\"} 2\n"));
+        assertTrue(output.contains("test_queue 5\n"));
+        assertTrue(output.contains("test_seconds_bucket{handler=\"a\\\"b\",le=\"0.0025\"} 0\n"));
+        assertTrue(output.contains("test_seconds_bucket{handler=\"a\\\"b\",le=\"0.005\"} 1\n"));
+        assertTrue(output.contains("test_seconds_bucket{handler=\"a\\\"b\",le=\"+Inf\"} 1\n"));
+        assertTrue(output.contains("test_seconds_count{handler=\"a\\\"b\"} 1\n"));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        MetricsRegistry registry = createRegistry(false);
+
+        registry.counter("test_total", "Test counter").increment();
+        assertEquals(0, registry.counter("test_total", "Test counter").get());
+
+        StringWriter writer = new StringWriter();
+        registry.write(writer);
+        assertEquals("", writer.toString());
+    }
+
+}
@@ -0,0 +1,51 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionManagerTest {
+
+    @Test
+    public void testPartitionNames() {
+        LocalDate start = LocalDate.of(2026, 10, 12);
+        LocalDate end = LocalDate.of(2026, 10, 19);
+
+        String postgresql = PartitionManager.formatPartition("tc_positions_", start, end);
+        assertEquals("tc_positions_p20261012_20261019", postgresql);
+        assertEquals(
+                new PartitionManager.Partition(postgresql, start, end), PartitionManager.parsePartition(postgresql));
+
+        String mysql = PartitionManager.formatPartition("", start, end);
+        assertEquals("p20261012_20261019", mysql);
+        assertEquals(new PartitionManager.Partition(mysql, start, end), PartitionManager.parsePartition(mysql));
+
+        var legacy = PartitionManager.parsePartition("tc_events_legacy_20261012");
+        assertNull(legacy.start());
+        assertEquals(start, legacy.end());
+
+        var other = PartitionManager.parsePartition("p_future");
+        assertNull(other.start());
+        assertNull(other.end());
+    }
+
+    @Test
+    public void testExpired() {
+        var legacy = PartitionManager.parsePartition("p_legacy_20261005");
+        var first = PartitionManager.parsePartition("p20261005_20261012");
+        var second = PartitionManager.parsePartition("p20261012_20261019");
+        var future = PartitionManager.parsePartition("p_future");
+        var partitions = List.of(legacy, first, second, future);
+
+        assertTrue(PartitionManager.getExpired(partitions, null).isEmpty());
+        assertEquals(List.of(legacy), PartitionManager.getExpired(partitions, LocalDate.of(2026, 10, 11)));
+        assertEquals(List.of(legacy, first), PartitionManager.getExpired(partitions, LocalDate.of(2026, 10, 12)));
+        assertEquals(List.of(legacy, first), PartitionManager.getExpired(partitions, LocalDate.of(2026, 10, 18)));
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.traccar.geofence;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Geofence;
+import org.traccar.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GeofenceIndexTest {
+
+    private Geofence createGeofence(long id, String area) {
+        Geofence geofence = new Geofence();
+        geofence.setId(id);
+        geofence.setArea(area);
+        return geofence;
+    }
+
+    private Position createPosition(double latitude, double longitude) {
+        Position position = new Position();
+        position.setLatitude(latitude);
+        position.setLongitude(longitude);
+        return position;
+    }
+
+    @Test
+    public void testIndexedLookup() {
+        List<Geofence> geofences = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            geofences.add(createGeofence(i + 1, "CIRCLE (" + (10 + i * 0.1) + " 20, 500)"));
+        }
+        geofences.add(createGeofence(1000,
+                "POLYGON ((55.75474 37.61823, 55.75513 37.61888, 55.7535 37.6222, 55.75315 37.62165))"));
+        geofences.add(createGeofence(1001, "POLYGON ((10 170, 10 -170, -10 -170, -10 170))"));
+
+        GeofenceIndex index = new GeofenceIndex(geofences);
+        assertEquals(102, index.size());
+
+        assertEquals(List.of(1L), index.getGeofenceIds(createPosition(10.001, 20.001)));
+        assertEquals(List.of(51L), index.getGeofenceIds(createPosition(15.0, 20.0)));
+        assertEquals(List.of(1000L), index.getGeofenceIds(createPosition(55.75476, 37.61915)));
+        assertEquals(List.of(1001L), index.getGeofenceIds(createPosition(0, 179)));
+        assertTrue(index.getGeofenceIds(createPosition(0, 0)).isEmpty());
+
+        assertTrue(index.getCandidates(15.0, 20.0).size() < 10);
+    }
+
+    @Test
+    public void testSmallSet() {
+        GeofenceIndex index = new GeofenceIndex(List.of(createGeofence(1, "CIRCLE (55.75414 37.6204, 100)")));
+        assertEquals(List.of(1L), index.getGeofenceIds(createPosition(55.75477, 37.62025)));
+        assertTrue(index.getGeofenceIds(createPosition(55.75545, 37.61921)).isEmpty());
+    }
+
+}
@@ -57,4 +57,26 @@ public class GeofencePolygonTest {
         assertFalse(geofenceGeometry.containsPoint(50.9477, 0.5836));
     }
 
+    @Test
+    public void testContainsLargePolygon() throws ParseException {
+        StringBuilder wkt = new StringBuilder("POLYGON ((");
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            double angle = 2 * Math.PI * i / count;
+            double radius = i % 2 == 0 ? 1.0 : 0.9;
+            if (i > 0) {
+                wkt.append(", ");
+            }
+            wkt.append(50 + radius * Math.sin(angle)).append(' ').append(10 + radius * Math.cos(angle));
+        }
+        wkt.append("))");
+        GeofenceGeometry geofenceGeometry = new GeofencePolygon(wkt.toString());
+        assertTrue(geofenceGeometry.containsPoint(50, 10));
+        assertTrue(geofenceGeometry.containsPoint(50.5, 10.5));
+        assertTrue(geofenceGeometry.containsPoint(50, 10.85));
+        assertFalse(geofenceGeometry.containsPoint(50, 11.05));
+        assertFalse(geofenceGeometry.containsPoint(51.5, 10));
+        assertFalse(geofenceGeometry.containsPoint(50.9, 10.9));
+    }
+
 }
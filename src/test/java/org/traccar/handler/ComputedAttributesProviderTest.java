@@ -2,12 +2,17 @@ package org.traccar.handler;
 
 import org.junit.jupiter.api.Test;
 import org.traccar.config.Config;
+import org.traccar.config.Keys;
 import org.traccar.model.Attribute;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.Position;
+import org.traccar.session.cache.CacheManager;
 
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class ComputedAttributesProviderTest {
 
@@ -68,4 +73,51 @@ public class ComputedAttributesProviderTest {
 
     }
 
+    @Test
+    public void testLastAttributes() {
+
+        Config config = new Config();
+        config.setString(Keys.PROCESSING_COMPUTED_ATTRIBUTES_LAST_ATTRIBUTES, "true");
+        CacheManager cacheManager = mock(CacheManager.class);
+        ComputedAttributesProvider provider = new ComputedAttributesProvider(config, cacheManager);
+
+        Position last = new Position();
+        last.setDeviceId(1);
+        last.setSpeed(10);
+        last.set("fuel", 50);
+        last.set("Level", 3);
+        last.set("aBC", 4);
+        last.set("1wire", 5);
+        when(cacheManager.getPosition(1)).thenReturn(last);
+
+        Position position = new Position();
+        position.setDeviceId(1);
+        position.setSpeed(30);
+        position.set("fuel", 45);
+
+        Attribute attribute = new Attribute();
+        attribute.setId(1);
+
+        attribute.setExpression("speed - lastSpeed");
+        assertEquals(20.0, provider.compute(attribute, position));
+
+        attribute.setExpression("lastFuel - fuel");
+        assertEquals(5, provider.compute(attribute, position));
+
+        provider.onInvalidateObject(Attribute.class, 1, ObjectOperation.UPDATE);
+
+        attribute.setExpression("speed > lastSpeed");
+        assertEquals(true, provider.compute(attribute, position));
+
+        attribute.setExpression("lastLevel");
+        assertEquals(3, provider.compute(attribute, position));
+
+        attribute.setExpression("lastABC");
+        assertEquals(4, provider.compute(attribute, position));
+
+        attribute.setExpression("last1wire");
+        assertEquals(5, provider.compute(attribute, position));
+
+    }
+
 }
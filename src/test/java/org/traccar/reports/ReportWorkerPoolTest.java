@@ -0,0 +1,62 @@
+package org.traccar.reports;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.reports.common.ReportWorkerPool;
+import org.traccar.storage.StorageException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReportWorkerPoolTest {
+
+    private ReportWorkerPool createWorkerPool() {
+        Config config = mock(Config.class);
+        when(config.getInteger(Keys.REPORT_WORKERS)).thenReturn(4);
+        return new ReportWorkerPool(config);
+    }
+
+    private List<Device> createDevices(int count) {
+        List<Device> devices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Device device = new Device();
+            device.setId(i + 1);
+            devices.add(device);
+        }
+        return devices;
+    }
+
+    @Test
+    public void testDeviceOrder() throws Exception {
+        List<Long> result = createWorkerPool().map(createDevices(20), device -> {
+            try {
+                Thread.sleep(20 - device.getId());
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return device.getId();
+        });
+        assertEquals(20, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(Long.valueOf(i + 1), result.get(i));
+        }
+    }
+
+    @Test
+    public void testException() {
+        assertThrows(StorageException.class, () -> createWorkerPool().map(createDevices(5), device -> {
+            if (device.getId() == 3) {
+                throw new StorageException("error");
+            }
+            return device.getId();
+        }));
+    }
+
+}
@@ -0,0 +1,169 @@
+package org.traccar.reports;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.api.security.PermissionsService;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.DeviceSummaryManager;
+import org.traccar.model.Device;
+import org.traccar.model.DeviceSummary;
+import org.traccar.model.Position;
+import org.traccar.model.Server;
+import org.traccar.model.User;
+import org.traccar.reports.common.ReportUtils;
+import org.traccar.reports.common.ReportWorkerPool;
+import org.traccar.reports.model.SummaryReportItem;
+import org.traccar.storage.Storage;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SummaryReportProviderTest {
+
+    private static final long DAY = DeviceSummaryManager.DAY_MS;
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    public void testRollupMatchesScan() throws Exception {
+
+        long start = DeviceSummaryManager.getDay(new Date().getTime()) - 10 * DAY;
+
+        List<Position> positions = createPositions(start, 4);
+        Storage storage = mockStorage(positions, List.of(createSummary(positions, start + DAY)));
+
+        Config config = mock(Config.class);
+        when(config.getBoolean(Keys.REPORT_SUMMARY_ROLLUP)).thenReturn(true);
+        var provider = new SummaryReportProvider(
+                config, null, null, null, storage, new DeviceSummaryManager(config, storage));
+
+        Device device = new Device();
+        device.setId(1);
+        Date from = new Date(start + 12 * HOUR);
+        for (long to : List.of(start + 2 * DAY - 1, start + 3 * DAY - 1, start + 3 * DAY + 12 * HOUR)) {
+            SummaryReportItem rollupResult = new SummaryReportItem();
+            Position[] rollup = provider.calculateRollup(device, from, new Date(to), false, rollupResult);
+            SummaryReportItem scanResult = new SummaryReportItem();
+            Position[] scan = new Position[2];
+            provider.scanPositions(device, from, new Date(to), scan, scanResult);
+
+            assertNotNull(rollup);
+            assertEquals(scan[0].getId(), rollup[0].getId());
+            assertEquals(scan[1].getId(), rollup[1].getId());
+            assertEquals(scanResult.getMaxSpeed(), rollupResult.getMaxSpeed());
+        }
+    }
+
+    @Test
+    public void testReportRollupMatchesScan() throws Exception {
+
+        long start = DeviceSummaryManager.getDay(new Date().getTime()) - 20 * DAY;
+
+        List<Position> positions = createPositions(start, 10);
+        List<DeviceSummary> summaries = new ArrayList<>();
+        for (long day = start; day < start + 10 * DAY; day += DAY) {
+            summaries.add(createSummary(positions, day));
+        }
+        Storage storage = mockStorage(positions, summaries);
+        Device device = new Device();
+        device.setId(1);
+        when(storage.getObjects(eq(Device.class), any())).thenReturn(List.of(device));
+
+        Date from = new Date(start + 12 * HOUR);
+        Date to = new Date(start + 9 * DAY + 6 * HOUR);
+
+        Config rollupConfig = mock(Config.class);
+        when(rollupConfig.getBoolean(Keys.REPORT_SUMMARY_ROLLUP)).thenReturn(true);
+        when(rollupConfig.getLong(Keys.REPORT_FAST_THRESHOLD)).thenReturn(86400L);
+        var rollup = createProvider(rollupConfig, storage).getObjects(1, List.of(), List.of(), from, to, false);
+
+        Config scanConfig = mock(Config.class);
+        when(scanConfig.getLong(Keys.REPORT_FAST_THRESHOLD)).thenReturn(Long.MAX_VALUE);
+        var scan = createProvider(scanConfig, storage).getObjects(1, List.of(), List.of(), from, to, false);
+
+        assertEquals(1, rollup.size());
+        assertEquals(1, scan.size());
+        SummaryReportItem rollupItem = rollup.iterator().next();
+        SummaryReportItem scanItem = scan.iterator().next();
+        assertEquals(scanItem.getStartTime(), rollupItem.getStartTime());
+        assertEquals(scanItem.getEndTime(), rollupItem.getEndTime());
+        assertEquals(scanItem.getMaxSpeed(), rollupItem.getMaxSpeed());
+        assertEquals(scanItem.getDistance(), rollupItem.getDistance());
+        assertEquals(scanItem.getStartOdometer(), rollupItem.getStartOdometer());
+        assertEquals(scanItem.getEndOdometer(), rollupItem.getEndOdometer());
+        assertTrue(rollupItem.getMaxSpeed() > 0);
+    }
+
+    private static List<Position> createPositions(long start, int days) {
+        List<Position> positions = new ArrayList<>();
+        for (long time = start; time < start + days * DAY; time += 3 * HOUR) {
+            Position position = new Position();
+            position.setId(positions.size() + 1);
+            position.setDeviceId(1);
+            position.setFixTime(new Date(time));
+            position.setSpeed(positions.size() * 37 % 100);
+            position.set(Position.KEY_TOTAL_DISTANCE, positions.size() * 1000.0);
+            positions.add(position);
+        }
+        return positions;
+    }
+
+    private static DeviceSummary createSummary(List<Position> positions, long day) {
+        DeviceSummary summary = new DeviceSummary();
+        summary.setDeviceId(1);
+        summary.setPeriodStart(new Date(day));
+        for (Position position : positions) {
+            long time = position.getFixTime().getTime();
+            if (time >= day && time < day + DAY) {
+                if (summary.getStartPositionId() == 0) {
+                    summary.setStartPositionId(position.getId());
+                }
+                summary.setEndPositionId(position.getId());
+                summary.setMaxSpeed(Math.max(summary.getMaxSpeed(), position.getSpeed()));
+                summary.setPositions(summary.getPositions() + 1);
+            }
+        }
+        return summary;
+    }
+
+    private static Storage mockStorage(List<Position> positions, List<DeviceSummary> summaries) throws Exception {
+        Storage storage = mock(Storage.class);
+        when(storage.getObjects(eq(DeviceSummary.class), any())).thenReturn(summaries);
+        when(storage.getObject(eq(Position.class), any())).thenAnswer(invocation -> {
+            var condition = (Condition.Equals) ((Request) invocation.getArgument(1)).getCondition();
+            long id = ((Number) condition.getValue()).longValue();
+            return positions.stream().filter(position -> position.getId() == id).findFirst().orElse(null);
+        });
+        when(storage.getObjectsStream(eq(Position.class), any())).thenAnswer(invocation -> {
+            Condition condition = ((Request) invocation.getArgument(1)).getCondition();
+            var between = (Condition.Between) ((Condition.And) condition).getSecond();
+            Date from = (Date) between.getFromValue();
+            Date to = (Date) between.getToValue();
+            return positions.stream()
+                    .filter(position -> !position.getFixTime().before(from) && !position.getFixTime().after(to));
+        });
+        return storage;
+    }
+
+    private static SummaryReportProvider createProvider(Config config, Storage storage) throws Exception {
+        PermissionsService permissionsService = mock(PermissionsService.class);
+        when(permissionsService.getServer()).thenReturn(new Server());
+        when(permissionsService.getUser(anyLong())).thenReturn(new User());
+        return new SummaryReportProvider(
+                config, mock(ReportUtils.class), new ReportWorkerPool(config), permissionsService, storage,
+                new DeviceSummaryManager(config, storage));
+    }
+
+}
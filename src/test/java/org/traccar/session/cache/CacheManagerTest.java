@@ -2,7 +2,10 @@ package org.traccar.session.cache;
 
 import org.junit.jupiter.api.Test;
 import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.model.AttributeUtil;
 import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.Position;
 import org.traccar.model.User;
 import org.traccar.broadcast.BroadcastService;
@@ -13,6 +16,8 @@ import org.traccar.storage.query.Request;
 import java.util.List;
 import java.util.Date;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -57,4 +62,80 @@ public class CacheManagerTest {
         assertSame(replacement, cacheManager.getPosition(deviceId));
     }
 
+    @Test
+    public void testDeviceSettings() throws Exception {
+
+        Storage storage = mock(Storage.class);
+        BroadcastService broadcastService = mock(BroadcastService.class);
+        Device device = new Device();
+        device.setId(1);
+        device.set(Keys.DECODER_TIMEZONE.getKey(), "UTC");
+        Server server = new Server();
+        when(storage.getObject(eq(Server.class), any(Request.class))).thenReturn(server);
+        when(storage.getObject(eq(Device.class), any(Request.class))).thenReturn(device);
+        when(storage.getPermissions(eq(Device.class), any())).thenReturn(List.of());
+        when(storage.getPermissions(eq(User.class), eq(Device.class))).thenReturn(List.of());
+
+        CacheManager cacheManager = new CacheManager(new Config(), storage, broadcastService);
+        cacheManager.addDevice(1, new Object());
+
+        assertEquals("UTC", AttributeUtil.lookup(cacheManager, Keys.DECODER_TIMEZONE, 1));
+        assertNull(AttributeUtil.lookup(cacheManager, Keys.DEVICE_PASSWORD, 1));
+
+        Device updated = new Device();
+        updated.setId(1);
+        updated.set(Keys.DECODER_TIMEZONE.getKey(), "GMT");
+        when(storage.getObject(eq(Device.class), any(Request.class))).thenReturn(updated);
+        cacheManager.invalidateObject(false, Device.class, 1, ObjectOperation.UPDATE);
+        assertEquals("GMT", AttributeUtil.lookup(cacheManager, Keys.DECODER_TIMEZONE, 1));
+
+        assertEquals(0.0, AttributeUtil.lookup(cacheManager, Keys.EVENT_OVERSPEED_LIMIT, 1));
+        server.set(Keys.EVENT_OVERSPEED_LIMIT.getKey(), 50.0);
+        assertEquals(0.0, AttributeUtil.lookup(cacheManager, Keys.EVENT_OVERSPEED_LIMIT, 1));
+        cacheManager.invalidateObject(false, Server.class, 0, ObjectOperation.UPDATE);
+        assertEquals(50.0, AttributeUtil.lookup(cacheManager, Keys.EVENT_OVERSPEED_LIMIT, 1));
+
+        Object[] settings = cacheManager.getDeviceSettings(1, Keys.EVENT_OVERSPEED_LIMIT.getSettingsIndex());
+        Object[] grown = cacheManager.getDeviceSettings(1, settings.length);
+        assertEquals(settings.length + 1, grown.length);
+        assertSame(settings[Keys.EVENT_OVERSPEED_LIMIT.getSettingsIndex()],
+                grown[Keys.EVENT_OVERSPEED_LIMIT.getSettingsIndex()]);
+        assertNull(cacheManager.getDeviceSettings(2, 0));
+    }
+
+    @Test
+    public void testLatestPositions() throws Exception {
+
+        Storage storage = mock(Storage.class);
+        BroadcastService broadcastService = mock(BroadcastService.class);
+        when(storage.getObject(eq(Server.class), any(Request.class))).thenReturn(new Server());
+
+        Position loaded = new Position();
+        loaded.setId(10);
+        loaded.setDeviceId(1);
+        loaded.setFixTime(new Date());
+        when(storage.getObjects(eq(Position.class), any(Request.class))).thenReturn(List.of(loaded));
+
+        Config config = new Config();
+        config.setString(Keys.DATABASE_LATEST_POSITIONS_CACHE, "true");
+        CacheManager cacheManager = new CacheManager(config, storage, broadcastService);
+        assertSame(loaded, cacheManager.getLatestPosition(1));
+
+        Position older = new Position();
+        older.setDeviceId(1);
+        older.setFixTime(new Date(loaded.getFixTime().getTime() - 1000));
+        cacheManager.updatePosition(older);
+        assertSame(loaded, cacheManager.getLatestPosition(1));
+
+        Position remote = new Position();
+        remote.setId(11);
+        remote.setDeviceId(2);
+        remote.setFixTime(new Date());
+        cacheManager.updatePosition(false, remote);
+        assertEquals(List.of(remote), cacheManager.getLatestPositions(List.of(2L, 3L)));
+
+        cacheManager.invalidateObject(false, Device.class, 2, ObjectOperation.DELETE);
+        assertNull(cacheManager.getLatestPosition(2));
+    }
+
 }
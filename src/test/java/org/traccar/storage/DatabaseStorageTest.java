@@ -0,0 +1,83 @@
+package org.traccar.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.model.Device;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DatabaseStorageTest {
+
+    private DatabaseStorage storage;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:databasestoragetest;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS tc_devices");
+            statement.execute(
+                    "CREATE TABLE tc_devices (id BIGINT PRIMARY KEY, status VARCHAR(8), lastUpdate TIMESTAMP)");
+            for (int i = 1; i <= 1000; i++) {
+                statement.execute("INSERT INTO tc_devices (id, status) VALUES (" + i + ", 'online')");
+            }
+        }
+        storage = new DatabaseStorage(new Config(), dataSource, new ObjectMapper());
+    }
+
+    private Device getDevice(long id) throws StorageException {
+        return storage.getObject(Device.class, new Request(
+                new Columns.Include("id", "status", "lastUpdate"), new Condition.Equals("id", id)));
+    }
+
+    @Test
+    public void testUpdateObjects() throws Exception {
+        Date time = new Date(1700000000000L);
+        List<Device> devices = new ArrayList<>();
+        for (int i = 1; i <= 900; i++) {
+            Device device = new Device();
+            device.setId(i);
+            device.setStatus(Device.STATUS_OFFLINE);
+            device.setLastUpdate(i % 2 == 0 ? time : null);
+            devices.add(device);
+        }
+        storage.updateObjects(devices, new Columns.Include("status", "lastUpdate"));
+
+        assertEquals(Device.STATUS_OFFLINE, getDevice(1).getStatus());
+        assertNull(getDevice(1).getLastUpdate());
+        assertEquals(time, getDevice(900).getLastUpdate());
+        assertEquals(Device.STATUS_ONLINE, getDevice(901).getStatus());
+    }
+
+    @Test
+    public void testUpdateObjectsPadded() throws Exception {
+        List<Device> devices = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Device device = new Device();
+            device.setId(i * 10);
+            device.setStatus(Device.STATUS_UNKNOWN);
+            devices.add(device);
+        }
+        storage.updateObjects(devices, new Columns.Include("status"));
+
+        assertEquals(Device.STATUS_UNKNOWN, getDevice(10).getStatus());
+        assertEquals(Device.STATUS_UNKNOWN, getDevice(30).getStatus());
+        assertEquals(Device.STATUS_ONLINE, getDevice(21).getStatus());
+        assertEquals(Device.STATUS_ONLINE, getDevice(40).getStatus());
+    }
+
+}
@@ -15,6 +15,7 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class QueryBuilderTest {
@@ -169,4 +170,33 @@ public class QueryBuilderTest {
         }
     }
 
+    @Test
+    public void queryPlanReusedAcrossExecutions() throws Exception {
+        List<String> columns = List.of("name", "count");
+        QueryPlan insertPlan = new QueryPlan(
+                "INSERT INTO test_entity(name, count) VALUES (?, ?)", TestEntity.class, columns);
+        for (int i = 0; i < 2; i++) {
+            TestEntity entity = new TestEntity();
+            entity.setName("plan" + i);
+            entity.setCount(i);
+            try (QueryBuilder insert = QueryBuilder.create(
+                    config, dataSource, objectMapper, insertPlan.getQuery(), true)) {
+                insert.setObject(entity, insertPlan);
+                insert.executeUpdate();
+            }
+        }
+
+        QueryPlan selectPlan = new QueryPlan("SELECT * FROM test_entity ORDER BY count");
+        for (int i = 0; i < 2; i++) {
+            try (QueryBuilder query = QueryBuilder.create(config, dataSource, objectMapper, selectPlan.getQuery());
+                 Stream<TestEntity> stream = query.executeQueryStreamed(TestEntity.class, "H2", selectPlan)) {
+                List<TestEntity> results = stream.toList();
+                assertEquals(2, results.size());
+                assertEquals("plan1", results.get(1).getName());
+                assertEquals(1, results.get(1).getCount());
+            }
+            assertNotNull(selectPlan.getMapping());
+        }
+    }
+
 }